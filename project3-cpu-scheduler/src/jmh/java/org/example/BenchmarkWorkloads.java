@@ -0,0 +1,58 @@
+package org.example;
+import java.util.Random;
+
+// =====================================================
+// Benchmark workloads (seeded, reproducible)
+// =====================================================
+// Builds a ProcessTable of n processes for a named arrival/burst shape.
+// Arrivals are spaced so the CPU is ~80% busy on average, which keeps the
+// ready set bounded and makes the sizes comparable between schedulers.
+class BenchmarkWorkloads {
+
+    static final int CONTEXT_SWITCH = 1;
+    static final int RR_QUANTUM = 4;
+    static final int AGING_INTERVAL = 5;
+
+    private static final double LOAD = 0.8;
+
+    // uniform:   evenly spread arrivals, bursts 1..20
+    // bursty:    arrivals in clumps of up to 50 at the same tick, bursts 1..20
+    // heavyTail: evenly spread arrivals, Pareto bursts (many short, a few very long)
+    static ProcessTable generate(String distribution, int n, long seed) {
+        Random random = new Random(seed);
+        ProcessTable table = new ProcessTable(n);
+
+        double time = 0;
+        int clump = 0;
+        for (int i = 0; i < n; i++) {
+            int burst;
+            double gap;
+            switch (distribution) {
+                case "uniform":
+                    burst = 1 + random.nextInt(20);
+                    gap = 2 * random.nextDouble() * (10.5 + CONTEXT_SWITCH) / LOAD;
+                    break;
+                case "bursty":
+                    burst = 1 + random.nextInt(20);
+                    if (clump == 0) {
+                        clump = 1 + random.nextInt(50);
+                        gap = clump * (10.5 + CONTEXT_SWITCH) / LOAD;
+                    } else {
+                        gap = 0;
+                    }
+                    clump--;
+                    break;
+                case "heavyTail":
+                    // Pareto(alpha = 1.5, min = 3), capped so one process cannot dominate a run
+                    burst = (int) Math.min(10_000, 3 / Math.pow(1 - random.nextDouble(), 1 / 1.5));
+                    gap = 2 * random.nextDouble() * (9 + CONTEXT_SWITCH) / LOAD;
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown distribution: " + distribution);
+            }
+            time += gap;
+            table.add("P" + i, (int) time, burst, 1 + random.nextInt(10), 1 + random.nextInt(8));
+        }
+        return table;
+    }
+}
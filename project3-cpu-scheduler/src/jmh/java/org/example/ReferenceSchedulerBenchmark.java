@@ -0,0 +1,47 @@
+package org.example;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+// =====================================================
+// ReferenceSchedulerBenchmark (tick-based engines)
+// =====================================================
+// SJFScheduler, PriorityScheduler and AGScheduler step one tick at a time
+// and scan every process per tick, so they stop at 10k processes; 1M would
+// not finish. They only read the workload, so every op shares one table.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class ReferenceSchedulerBenchmark {
+
+    @Param({"100", "10000"})
+    public int size;
+
+    @Param({"uniform", "bursty", "heavyTail"})
+    public String distribution;
+
+    private ProcessTable workload;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        workload = BenchmarkWorkloads.generate(distribution, size, 42);
+    }
+
+    @Benchmark
+    public Object sjf() {
+        return new SJFScheduler(BenchmarkWorkloads.CONTEXT_SWITCH).simulate(workload);
+    }
+
+    @Benchmark
+    public Object priority() {
+        return new PriorityScheduler(BenchmarkWorkloads.CONTEXT_SWITCH, BenchmarkWorkloads.AGING_INTERVAL)
+                .simulate(workload);
+    }
+
+    @Benchmark
+    public Object ag() {
+        return new AGScheduler(BenchmarkWorkloads.CONTEXT_SWITCH).simulate(workload);
+    }
+}
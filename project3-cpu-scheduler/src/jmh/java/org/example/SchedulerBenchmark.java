@@ -0,0 +1,52 @@
+package org.example;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+// =====================================================
+// SchedulerBenchmark (production engines, 100 .. 1M processes)
+// =====================================================
+// Throughput of one full simulation per op on a shared read-only workload.
+// Run all of them with: mvn -P benchmark verify (adds -prof gc for allocation rate)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class SchedulerBenchmark {
+
+    @Param({"100", "10000", "1000000"})
+    public int size;
+
+    @Param({"uniform", "bursty", "heavyTail"})
+    public String distribution;
+
+    private ProcessTable workload;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        workload = BenchmarkWorkloads.generate(distribution, size, 42);
+    }
+
+    @Benchmark
+    public Object sjf() {
+        return new EventSJFScheduler(BenchmarkWorkloads.CONTEXT_SWITCH).simulate(workload);
+    }
+
+    @Benchmark
+    public Object roundRobin() {
+        return new RoundRobinScheduler(BenchmarkWorkloads.RR_QUANTUM, BenchmarkWorkloads.CONTEXT_SWITCH)
+                .simulate(workload);
+    }
+
+    @Benchmark
+    public Object priority() {
+        return new LazyAgingPriorityScheduler(BenchmarkWorkloads.CONTEXT_SWITCH, BenchmarkWorkloads.AGING_INTERVAL)
+                .simulate(workload);
+    }
+
+    @Benchmark
+    public Object ag() {
+        return new EventAGScheduler(BenchmarkWorkloads.CONTEXT_SWITCH).simulate(workload);
+    }
+}
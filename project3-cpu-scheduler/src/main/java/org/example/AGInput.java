@@ -0,0 +1,8 @@
+package org.example;
+import java.util.*;
+
+// wrapper for AG scheduler
+class AGInput {
+    public int contextSwitch;  // optional, 0 when not given
+    public List<AGProcessJSON> processes;
+}
@@ -0,0 +1,9 @@
+package org.example;
+
+class AGProcessJSON {
+    public String name;
+    public int arrival;
+    public int burst;
+    public int priority;
+    public int quantum;
+}
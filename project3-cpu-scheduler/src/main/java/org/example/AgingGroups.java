@@ -0,0 +1,134 @@
+package org.example;
+
+// =====================================================
+// AgingGroups (waiting processes already at priority 1)
+// =====================================================
+// PriorityScheduler keeps aging a process at priority 1: its priority stays
+// put but its aging timestamp moves, and the times those timestamps come due
+// still end the running slice (a point where the running process is checked
+// against the queue). One aging pass gives every process it touches the same
+// timestamp, so such processes move in groups: this keeps one heap entry per
+// group, and a pass re-stamps each due group once and merges them into one,
+// moving the members of the smaller group into the larger.
+class AgingGroups {
+
+    // arrays for ids and group numbers, shared by every AgingGroups made together
+    private static class Pool {
+        final int[] group;      // id -> its group, -1 when in none
+        final int[] next;       // id -> next member of its group, -1 at the end
+        final int[] prev;       // id -> previous member, -1 at the head
+        final int[] head;       // group -> first member
+        final int[] size;       // group -> member count
+        final int[] time;       // group -> aging timestamp of every member
+        final int[] free;       // unused group numbers
+        int freeCount;
+
+        Pool(int capacity) {
+            group = new int[capacity];
+            next = new int[capacity];
+            prev = new int[capacity];
+            head = new int[capacity];
+            size = new int[capacity];
+            time = new int[capacity];
+            free = new int[capacity];
+            java.util.Arrays.fill(group, -1);
+            for (int g = 0; g < capacity; g++)
+                free[g] = capacity - 1 - g;
+            freeCount = capacity;
+        }
+    }
+
+    private final Pool pool;
+    private final IndexedMinHeap due; // this instance's groups keyed on (time, group)
+    private final int step;
+
+    public AgingGroups(int capacity, int step) {
+        this(new Pool(capacity), new IndexedMinHeap(capacity), step);
+    }
+
+    private AgingGroups(Pool pool, IndexedMinHeap due, int step) {
+        this.pool = pool;
+        this.due = due;
+        this.step = step;
+    }
+
+    // count instances over the same ids that never hold one id at the same time
+    // (one per core), like IndexedMinHeap.sharing
+    static AgingGroups[] sharing(int capacity, int count, int step) {
+        Pool pool = new Pool(capacity);
+        IndexedMinHeap[] due = IndexedMinHeap.sharing(capacity, count);
+        AgingGroups[] groups = new AgingGroups[count];
+        for (int i = 0; i < count; i++)
+            groups[i] = new AgingGroups(pool, due[i], step);
+        return groups;
+    }
+
+    public boolean contains(int id) {
+        return pool.group[id] >= 0;
+    }
+
+    // id's aging timestamp
+    public int timeOf(int id) {
+        return pool.time[pool.group[id]];
+    }
+
+    // id starts waiting with aging timestamp time
+    public void add(int id, int time) {
+        int g = pool.free[--pool.freeCount];
+        pool.group[id] = g;
+        pool.next[id] = -1;
+        pool.prev[id] = -1;
+        pool.head[g] = id;
+        pool.size[g] = 1;
+        pool.time[g] = time;
+        due.add(g, IndexedMinHeap.key(time, g));
+    }
+
+    public void remove(int id) {
+        int g = pool.group[id];
+        pool.group[id] = -1;
+        if (pool.prev[id] >= 0) pool.next[pool.prev[id]] = pool.next[id];
+        else pool.head[g] = pool.next[id];
+        if (pool.next[id] >= 0) pool.prev[pool.next[id]] = pool.prev[id];
+        if (--pool.size[g] == 0) {
+            due.remove(g);
+            pool.free[pool.freeCount++] = g;
+        }
+    }
+
+    // the next time some member has waited a full step, Integer.MAX_VALUE when empty
+    public int nextDue() {
+        return due.isEmpty() ? Integer.MAX_VALUE : pool.time[due.peek()] + step;
+    }
+
+    // an aging pass at now: every member that waited at least a full step is re-stamped now
+    public void age(int now) {
+        if (due.isEmpty() || pool.time[due.peek()] > now - step) return;
+        int into = due.poll();
+        while (!due.isEmpty() && pool.time[due.peek()] <= now - step) {
+            int g = due.poll();
+            if (pool.size[g] > pool.size[into]) {
+                int larger = g;
+                g = into;
+                into = larger;
+            }
+            merge(g, into);
+        }
+        pool.time[into] = now;
+        due.add(into, IndexedMinHeap.key(now, into));
+    }
+
+    // moves every member of g to the front of into and frees g
+    private void merge(int g, int into) {
+        int last = -1;
+        for (int id = pool.head[g]; id >= 0; id = pool.next[id]) {
+            pool.group[id] = into;
+            last = id;
+        }
+        pool.next[last] = pool.head[into];
+        pool.prev[pool.head[into]] = last;
+        pool.head[into] = pool.head[g];
+        pool.size[into] += pool.size[g];
+        pool.free[pool.freeCount++] = g;
+    }
+}
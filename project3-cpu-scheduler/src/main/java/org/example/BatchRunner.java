@@ -0,0 +1,247 @@
+package org.example;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+
+// =====================================================
+// BatchRunner (parallel file x scheduler runs)
+// =====================================================
+// Every scenario file is loaded once into a shared read-only Workload and
+// each (file, scheduler) pair becomes its own task on the executor. Results
+// are printed in file-name order, then scheduler order, no matter which
+// task finishes first. With a ResultCache, a job whose scheduler, settings
+// and workload have been run before (by this build of the simulator) is
+// answered from disk instead of simulated.
+class BatchRunner {
+
+    // one scenario file: the shared workload and its scheduler settings
+    static class BatchInput {
+        final Workload workload;
+        final int contextSwitch;
+        final int rrQuantum;
+        final int agingInterval;
+        int[] mlfqQuanta;           // null: MLFQScheduler's default
+        int mlfqBoostInterval = -1; // negative: MLFQScheduler's default
+        int cfsTargetLatency = -1;  // non-positive: CFSScheduler's default
+        int cfsMinGranularity = -1;
+
+        BatchInput(Workload workload, int contextSwitch, int rrQuantum, int agingInterval) {
+            this.workload = workload;
+            this.contextSwitch = contextSwitch;
+            this.rrQuantum = rrQuantum;
+            this.agingInterval = agingInterval;
+        }
+
+        MLFQScheduler mlfq() {
+            return MLFQScheduler.of(mlfqQuanta, mlfqBoostInterval, rrQuantum, contextSwitch);
+        }
+
+        CFSScheduler cfs() {
+            return CFSScheduler.of(cfsTargetLatency, cfsMinGranularity, rrQuantum, contextSwitch);
+        }
+
+        // why the scheduler with this title declines the workload, or null when it runs it.
+        // MLFQ, CFS and AG only see CPU totals, so they refuse a workload with I/O bursts.
+        String refusal(String title) {
+            if (!workload.devices().isEmpty()
+                    && (title.equals("MLFQ") || title.equals("CFS") || title.equals("AG")))
+                return title + " cannot run a workload with I/O bursts";
+            return null;
+        }
+
+        // the scheduler a batch job with this title runs: SJF, RR, Priority, MLFQ, CFS or AG.
+        // A workload with I/O bursts runs RR, SJF and Priority on IOScheduler. The
+        // Workload-native engines give the same results as the sequential run's.
+        Scheduler scheduler(String title) {
+            String refusal = refusal(title);
+            if (refusal != null) throw new IllegalArgumentException(refusal);
+            if (!workload.devices().isEmpty()
+                    && (title.equals("RR") || title.equals("SJF") || title.equals("Priority")))
+                return new IOScheduler(title, contextSwitch, rrQuantum, agingInterval);
+            switch (title) {
+                case "SJF": return new EventSJFScheduler(contextSwitch);
+                case "RR": return new RoundRobinScheduler(rrQuantum, contextSwitch);
+                case "Priority": return new LazyAgingPriorityScheduler(contextSwitch, agingInterval);
+                case "MLFQ": return mlfq();
+                case "CFS": return cfs();
+                case "AG": return new EventAGScheduler(contextSwitch);
+                default: throw new IllegalArgumentException("Unknown scheduler: " + title);
+            }
+        }
+
+        // every parameter scheduler(title) reads, for ResultCache keys
+        String settings(String title) {
+            switch (title) {
+                case "SJF": case "AG": return "contextSwitch=" + contextSwitch;
+                case "RR": return "rrQuantum=" + rrQuantum + " contextSwitch=" + contextSwitch;
+                case "Priority": return "contextSwitch=" + contextSwitch + " agingInterval=" + agingInterval;
+                case "MLFQ": return mlfq().settings();
+                case "CFS": return cfs().settings();
+                default: throw new IllegalArgumentException("Unknown scheduler: " + title);
+            }
+        }
+
+        static BatchInput load(File file) {
+            try {
+                if (file.getName().endsWith(".trace")) {
+                    MappedTrace trace = MappedTrace.open(file.toPath());
+                    return new BatchInput(trace, trace.contextSwitch, trace.rrQuantum, trace.agingInterval);
+                }
+                return of(StreamingWorkloadLoader.load(file));
+            } catch (IOException e) {
+                throw new UncheckedIOException(file.toString(), e);
+            }
+        }
+
+        static BatchInput of(TableInput input) {
+            BatchInput in = new BatchInput(input.processes, input.contextSwitch, input.rrQuantum, input.agingInterval);
+            in.mlfqQuanta = input.mlfqQuanta;
+            in.mlfqBoostInterval = input.mlfqBoostInterval;
+            in.cfsTargetLatency = input.cfsTargetLatency;
+            in.cfsMinGranularity = input.cfsMinGranularity;
+            return in;
+        }
+    }
+
+    static class Job {
+        final File file;
+        final String title;
+        final CompletableFuture<BatchInput> input;
+        final CompletableFuture<SimulationResult> result;
+
+        Job(File file, String title, CompletableFuture<BatchInput> input, CompletableFuture<SimulationResult> result) {
+            this.file = file;
+            this.title = title;
+            this.input = input;
+            this.result = result;
+        }
+    }
+
+    private final ExecutorService executor;
+    private final ResultCache cache;
+
+    public BatchRunner(ExecutorService executor) {
+        this(executor, null);
+    }
+
+    public BatchRunner(ExecutorService executor, ResultCache cache) {
+        this.executor = executor;
+        this.cache = cache;
+    }
+
+    public List<Job> submit(File nonAgFolder, File agFolder) {
+        List<Job> jobs = new ArrayList<>();
+
+        for (File file : scenarioFiles(nonAgFolder)) {
+            CompletableFuture<BatchInput> input = CompletableFuture.supplyAsync(() -> BatchInput.load(file), executor);
+            for (String title : new String[] {"SJF", "RR", "Priority", "MLFQ", "CFS"})
+                jobs.add(job(file, title, input));
+        }
+
+        for (File file : scenarioFiles(agFolder)) {
+            CompletableFuture<BatchInput> input = CompletableFuture.supplyAsync(() -> BatchInput.load(file), executor);
+            jobs.add(job(file, "AG", input));
+        }
+
+        return jobs;
+    }
+
+    // the scheduler's settings are part of its cache key
+    private Job job(File file, String title, CompletableFuture<BatchInput> input) {
+        return new Job(file, title, input, input.thenApplyAsync(in -> {
+            Scheduler s = in.scheduler(title);
+            if (cache == null) return s.simulate(in.workload);
+            String key = ResultCache.key(s.getClass(), in.settings(title), in.workload);
+            return cache.get(key, in.workload, () -> s.simulate(in.workload));
+        }, executor));
+    }
+
+    // null when the scheduler refused the scenario (e.g. MLFQ on a file with I/O bursts);
+    // every other failure of the job propagates
+    private static SimulationResult result(Job job) {
+        try {
+            return job.result.join();
+        } catch (CompletionException e) {
+            if (skipped(job) != null) return null;
+            throw e;
+        }
+    }
+
+    private static String skipped(Job job) {
+        return job.input.join().refusal(job.title);
+    }
+
+    // prints results in submission order as soon as each one (and all before it) is done
+    public void run(File nonAgFolder, File agFolder) {
+        long start = System.nanoTime();
+
+        List<Job> jobs = submit(nonAgFolder, agFolder);
+        File current = null;
+        for (Job job : jobs) {
+            if (job.file != current) {
+                current = job.file;
+                System.out.println("\n=== " + current.getName() + " ===");
+            }
+            SimulationResult result = result(job);
+            if (result != null) Simulator.printResult(job.title, result);
+            else System.out.println("\n--- " + job.title + " ---\nSkipped: " + skipped(job));
+        }
+
+        // histograms are additive, so each scheduler's files combine into one distribution
+        Map<String, LatencyListener> merged = new LinkedHashMap<>();
+        for (Job job : jobs) {
+            SimulationResult result = result(job);
+            if (result != null)
+                merged.computeIfAbsent(job.title, title -> new LatencyListener()).merge(result.latency);
+        }
+        for (Map.Entry<String, LatencyListener> entry : merged.entrySet()) {
+            System.out.println("\n--- " + entry.getKey() + " (all files) ---");
+            Simulator.printLatency(entry.getValue());
+        }
+
+        double elapsedMs = (System.nanoTime() - start) / 1_000_000.0;
+        System.out.printf("\nTotal wall-clock time = %.1f ms (%d jobs)\n", elapsedMs, jobs.size());
+        if (cache != null)
+            System.out.printf("Result cache: %d hits, %d misses\n", cache.hits(), cache.misses());
+    }
+
+    static List<File> scenarioFiles(File folder) {
+        File[] files = folder.listFiles((dir, name) -> name.endsWith(".json") || name.endsWith(".trace"));
+        if (files == null) return Collections.emptyList();
+        Arrays.sort(files, Comparator.comparing(File::getName));
+        return Arrays.asList(files);
+    }
+
+    // usage: BatchRunner <non-AG folder> <AG folder> [threads] [--cache dir] [--cacheSize MB]
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.out.println("Usage: BatchRunner <non-AG folder> <AG folder> [threads] [--cache dir] [--cacheSize MB]");
+            return;
+        }
+        int threads = Runtime.getRuntime().availableProcessors();
+        String cacheDir = null;
+        long cacheMb = 256;
+
+        for (int i = 2; i < args.length; i++) {
+            switch (args[i]) {
+                case "--cache": cacheDir = args[++i]; break;
+                case "--cacheSize": cacheMb = Long.parseLong(args[++i]); break;
+                default: threads = Integer.parseInt(args[i]);
+            }
+        }
+        ResultCache cache = cacheDir == null ? null : new ResultCache(Paths.get(cacheDir), cacheMb << 20);
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            new BatchRunner(pool, cache).run(new File(args[0]), new File(args[1]));
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package org.example;
+
+// =====================================================
+// CFS Scheduler (completely fair, weighted by priority)
+// =====================================================
+// Each process accumulates vruntime: time run, scaled by NICE_0_WEIGHT over
+// its weight, so heavier processes age more slowly. The runnable processes
+// sit in an IndexedMinHeap keyed on (vruntime, arrival rank) and the one
+// with the least vruntime runs next, so a pick is O(log n). A dispatch runs
+// for the process's share of the scheduling period: targetLatency split by
+// weight, stretched to minGranularity per runnable process when there are
+// many. At the end of a slice the process carries on if it still has the
+// least vruntime, and is otherwise preempted. Arrivals start at the queue's
+// min vruntime and wait for the current slice to end. Context switches are
+// paid as in RoundRobinScheduler.
+class CFSScheduler implements Scheduler {
+    static final int NICE_0_WEIGHT = 1024;
+
+    // Linux's sched_prio_to_weight, nice -20..19: each step is ~1.25x the CPU share
+    private static final int[] NICE_TO_WEIGHT = {
+            88761, 71755, 56483, 46273, 36291,
+            29154, 23254, 18705, 14949, 11916,
+            9548, 7620, 6100, 4904, 3906,
+            3121, 2501, 1991, 1586, 1277,
+            1024, 820, 655, 526, 423,
+            335, 272, 215, 172, 137,
+            110, 87, 70, 56, 45,
+            36, 29, 23, 18, 15,
+    };
+
+    final int targetLatency;
+    final int minGranularity;
+    final int contextSwitch;
+
+    public CFSScheduler(int targetLatency, int minGranularity, int contextSwitch) {
+        if (minGranularity < 1) throw new IllegalArgumentException("minGranularity must be at least 1");
+        if (targetLatency < minGranularity)
+            throw new IllegalArgumentException("targetLatency must be at least minGranularity");
+        this.targetLatency = targetLatency;
+        this.minGranularity = minGranularity;
+        this.contextSwitch = contextSwitch;
+    }
+
+    // a scenario's settings; without them, rrQuantum granularity and a period of eight
+    static CFSScheduler of(int targetLatency, int minGranularity, int rrQuantum, int contextSwitch) {
+        if (minGranularity <= 0) minGranularity = Math.max(1, rrQuantum);
+        if (targetLatency <= 0) targetLatency = 8 * minGranularity;
+        return new CFSScheduler(targetLatency, minGranularity, contextSwitch);
+    }
+
+    // priority 1 (the highest) weighs like nice 0; each step down is one nice level
+    static int weight(int priority) {
+        int nice = Math.max(-20, Math.min(19, priority - 1));
+        return NICE_TO_WEIGHT[nice + 20];
+    }
+
+    // every parameter run() reads, for ResultCache keys
+    String settings() {
+        return "cfsTargetLatency=" + targetLatency + " cfsMinGranularity=" + minGranularity
+                + " contextSwitch=" + contextSwitch;
+    }
+
+    @Override
+    public void run(Workload w, SimulationListener listener) {
+        if (rankBits(w.size()) + VRUNTIME_BITS > 63)
+            throw new IllegalArgumentException("CFS supports at most " + ((1 << (63 - VRUNTIME_BITS)) - 1)
+                    + " processes, got " + w.size());
+        listener = Instrumentation.attach(this, listener);
+        listener.onStart(w);
+
+        int n = w.size();
+        int[] order = w.arrivalOrder();
+        int[] remaining = new int[n];
+        for (int i = 0; i < n; i++)
+            remaining[i] = w.burst(i);
+        RunQueue runnable = new RunQueue(w, order);
+
+        int time = 0;
+        int index = 0;
+        int completed = 0;
+        int running = -1;
+        int slice = 0;
+
+        while (completed < n) {
+            // Add newly arrived processes
+            while (index < n && w.arrival(order[index]) <= time)
+                runnable.arrive(order[index++]);
+
+            if (running < 0) {
+                // CPU idle: jump to the next arrival
+                if (runnable.isEmpty()) {
+                    time = w.arrival(order[index]);
+                    continue;
+                }
+                running = runnable.poll();
+                slice = runnable.slice(running);
+                listener.onDispatch(running, time);
+            }
+
+            int p = running;
+            int ran = Math.min(remaining[p], slice);
+            remaining[p] -= ran;
+            time += ran;
+            runnable.charge(p, ran);
+
+            if (remaining[p] == 0) {
+                int turnaroundTime = time - w.arrival(p);
+                int waitingTime = turnaroundTime - w.burst(p);
+                listener.onComplete(p, time, waitingTime, turnaroundTime);
+                completed++;
+                runnable.leave(p);
+                running = -1;
+
+                while (index < n && w.arrival(order[index]) <= time)
+                    runnable.arrive(order[index++]);
+                if (!runnable.isEmpty()) {
+                    listener.onContextSwitch(time, time + contextSwitch);
+                    time += contextSwitch;
+                }
+                continue;
+            }
+
+            while (index < n && w.arrival(order[index]) <= time)
+                runnable.arrive(order[index++]);
+
+            if (runnable.fairest(p)) {
+                // still the least vruntime: another slice, no switch
+                slice = runnable.slice(p);
+            } else {
+                listener.onPreempt(p, time);
+                runnable.requeue(p);
+                running = -1;
+                listener.onContextSwitch(time, time + contextSwitch);
+                time += contextSwitch;
+            }
+        }
+
+        listener.onFinish(time);
+    }
+
+    // =====================================================
+    // RunQueue (runnable processes by vruntime, plus the weights)
+    // =====================================================
+    // Keys are vruntime above the arrival rank. vruntime stays below 2^38
+    // (at most 68x any int time), which leaves room for 2^25 ranks; run()
+    // refuses larger workloads rather than let the keys wrap.
+    private static final int VRUNTIME_BITS = 38;
+
+    private static int rankBits(int n) {
+        return Math.max(1, 32 - Integer.numberOfLeadingZeros(n));
+    }
+
+    private class RunQueue {
+        private final IndexedMinHeap heap;
+        private final int[] rank;
+        private final int[] weight;
+        private final long[] vruntime;
+        private final int[] carry; // vruntime remainder, so scaling never drops time
+        private final int rankBits;
+        private long minVruntime;
+        private long totalWeight;  // runnable and running
+
+        RunQueue(Workload w, int[] order) {
+            int n = w.size();
+            heap = new IndexedMinHeap(n);
+            rank = new int[n];
+            weight = new int[n];
+            vruntime = new long[n];
+            carry = new int[n];
+            for (int r = 0; r < n; r++)
+                rank[order[r]] = r;
+            for (int i = 0; i < n; i++)
+                weight[i] = weight(w.priority(i));
+            rankBits = CFSScheduler.rankBits(n);
+        }
+
+        boolean isEmpty() {
+            return heap.isEmpty();
+        }
+
+        // a new process starts level with the least vruntime in the queue
+        void arrive(int id) {
+            vruntime[id] = minVruntime;
+            totalWeight += weight[id];
+            heap.add(id, key(id));
+        }
+
+        int poll() {
+            return heap.poll();
+        }
+
+        void requeue(int id) {
+            heap.add(id, key(id));
+        }
+
+        void leave(int id) {
+            totalWeight -= weight[id];
+        }
+
+        // id, running, sorts before every runnable process
+        boolean fairest(int id) {
+            return heap.isEmpty() || key(id) < heap.peekKey();
+        }
+
+        // id ran for ran time units
+        void charge(int id, int ran) {
+            long scaled = (long) ran * NICE_0_WEIGHT + carry[id];
+            vruntime[id] += scaled / weight[id];
+            carry[id] = (int) (scaled % weight[id]);
+
+            long least = heap.isEmpty() ? vruntime[id] : Math.min(vruntime[id], heap.peekKey() >>> rankBits);
+            minVruntime = Math.max(minVruntime, least);
+        }
+
+        // id's share of the period: targetLatency, or minGranularity per process once there are
+        // more than targetLatency / minGranularity, split by weight
+        int slice(int id) {
+            long period = Math.max(targetLatency, (long) (heap.size() + 1) * minGranularity);
+            return (int) Math.max(1, Math.min(Integer.MAX_VALUE, period * weight[id] / totalWeight));
+        }
+
+        private long key(int id) {
+            return (vruntime[id] << rankBits) | rank[id];
+        }
+    }
+}
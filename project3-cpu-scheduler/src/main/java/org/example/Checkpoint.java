@@ -0,0 +1,88 @@
+package org.example;
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+// =====================================================
+// Checkpoint (periodic snapshots of a running simulation)
+// =====================================================
+// Where and how often MultiCoreScheduler saves a run: every everyTime units
+// of simulated time and/or every everyMillis of wall time, plus once at the
+// end. A snapshot holds the engine's state (clock, queues, and the
+// per-process state of live processes only, so that part follows the ready
+// queues rather than the trace) and the listener's, which is as large as the
+// listener makes it: a SimulationResult saves its whole timeline and every
+// result so far, SummaryListener and LatencyListener a fixed few KB plus the
+// live processes. Long runs should checkpoint the latter. A run started on an
+// existing file resumes from it and ends with exactly the results of an
+// uninterrupted one. The file is replaced atomically, so dying mid-write
+// leaves the previous snapshot.
+class Checkpoint {
+    static final int MAGIC = 0x43504b54; // "CPKT"
+    static final int VERSION = 3;
+
+    // between two looks at the wall clock
+    static final int STEPS_PER_CLOCK_CHECK = 4096;
+
+    final Path file;
+    public int everyTime;
+    public long everyMillis;
+
+    public Checkpoint(Path file) {
+        this.file = file;
+    }
+
+    // "500": every 500 time units of simulated activity; "30s", "5m": wall clock
+    public Checkpoint every(String spec) {
+        if (spec.endsWith("ms")) everyMillis = Long.parseLong(spec.substring(0, spec.length() - 2));
+        else if (spec.endsWith("s")) everyMillis = 1000 * Long.parseLong(spec.substring(0, spec.length() - 1));
+        else if (spec.endsWith("m")) everyMillis = 60_000 * Long.parseLong(spec.substring(0, spec.length() - 1));
+        else everyTime = Integer.parseInt(spec);
+        if (everyTime < 0 || everyMillis < 0) throw new IllegalArgumentException("Bad checkpoint interval: " + spec);
+        return this;
+    }
+
+    boolean exists() {
+        return Files.exists(file);
+    }
+
+    // replaces the snapshot with what body writes
+    void write(Section body) throws IOException {
+        Path partial = file.resolveSibling(file.getFileName() + ".partial");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(partial)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            body.write(out);
+        }
+        Files.move(partial, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    DataInputStream read() throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)));
+        if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+            in.close();
+            throw new IOException(file + " is not a version " + VERSION + " checkpoint");
+        }
+        return in;
+    }
+
+    // one pass over the processes, so a snapshot is never resumed against a
+    // different workload; names and quanta count too, since results carry the
+    // one and AG schedules on the other
+    static long fingerprint(Workload w) {
+        long h = w.size();
+        for (int i = 0; i < w.size(); i++) {
+            h = h * 31 + w.name(i).hashCode();
+            h = h * 31 + w.arrival(i);
+            h = h * 31 + w.burst(i);
+            h = h * 31 + w.priority(i);
+            h = h * 31 + w.quantum(i);
+        }
+        return h;
+    }
+
+    interface Section {
+        void write(DataOutput out) throws IOException;
+    }
+}
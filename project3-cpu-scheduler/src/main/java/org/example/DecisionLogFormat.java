@@ -0,0 +1,43 @@
+package org.example;
+
+// =====================================================
+// Decision log format
+// =====================================================
+// Little-endian file laid out as
+//
+//   header   16 bytes  magic, version, recordBytes, indexEvery (ints)
+//   records  16 bytes  kind | where << 8, id, time, value (ints)
+//   index     8 bytes  the chained hash of the first (k + 1) * indexEvery
+//                      records, one per full block
+//   names              int length + UTF-8 bytes per process id
+//   footer   40 bytes  records, indexOffset, namesOffset (longs),
+//                      indexCount, names, magic (ints), reserved (int)
+//
+// "where" is the core of a dispatch, preempt, complete or context switch,
+// the source core of a migration and the device of a block or I/O. Value is
+// the waiting time of a completion, the end of a context switch or I/O, the
+// new quantum or priority, the core of a block, the target core of a
+// migration and the process count of the start record. A log cut off before close() has no index,
+// names or footer; its records are still readable.
+final class DecisionLogFormat {
+    static final int MAGIC = 0x474C4453; // "SDLG"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 16;
+    static final int RECORD_BYTES = 16;
+    static final int FOOTER_BYTES = 40;
+    static final int INDEX_EVERY = 4096;
+
+    static final int START = 0, DISPATCH = 1, PREEMPT = 2, COMPLETE = 3, CONTEXT_SWITCH = 4, QUANTUM = 5,
+            AGING = 6, MIGRATE = 7, BLOCK = 8, IO = 9, FINISH = 10;
+    static final String[] KINDS = {"start", "dispatch", "preempt", "complete", "contextSwitch", "quantum",
+            "aging", "migrate", "block", "io", "finish"};
+
+    private DecisionLogFormat() {}
+
+    // the running hash after one more record; equal prefixes give equal hashes
+    static long chain(long hash, int head, int id, int time, int value) {
+        hash = (hash ^ ((head & 0xFFFFFFFFL) | (long) id << 32)) * 0x9E3779B97F4A7C15L;
+        hash = (hash ^ ((time & 0xFFFFFFFFL) | (long) value << 32)) * 0xC2B2AE3D27D4EB4FL;
+        return hash;
+    }
+}
@@ -0,0 +1,132 @@
+package org.example;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// =====================================================
+// DecisionLogReader (positional reads, no full scan)
+// =====================================================
+// Opening reads the header and footer; index entries and records are read
+// where they are needed, so finding a divergence costs O(log size) small
+// reads plus one block of records. Names are loaded on first use.
+class DecisionLogReader implements Closeable {
+    final long records;
+    final int indexEvery;
+    final int indexCount;
+
+    private final FileChannel channel;
+    private final long indexOffset;
+    private final long namesOffset;
+    private final int nameCount;
+    private String[] names;
+
+    private DecisionLogReader(FileChannel channel) throws IOException {
+        this.channel = channel;
+        ByteBuffer header = read(0, DecisionLogFormat.HEADER_BYTES);
+        if (header.getInt(0) != DecisionLogFormat.MAGIC) throw new IOException("Not a decision log");
+        if (header.getInt(4) != DecisionLogFormat.VERSION)
+            throw new IOException("Unsupported decision log version " + header.getInt(4));
+        indexEvery = header.getInt(12);
+
+        long size = channel.size();
+        ByteBuffer footer = size >= DecisionLogFormat.HEADER_BYTES + DecisionLogFormat.FOOTER_BYTES
+                ? read(size - DecisionLogFormat.FOOTER_BYTES, DecisionLogFormat.FOOTER_BYTES) : null;
+        if (footer != null && footer.getInt(32) == DecisionLogFormat.MAGIC) {
+            records = footer.getLong(0);
+            indexOffset = footer.getLong(8);
+            namesOffset = footer.getLong(16);
+            indexCount = footer.getInt(24);
+            nameCount = footer.getInt(28);
+        } else {
+            // cut off before close(): whole records only, nothing to seek by
+            records = (size - DecisionLogFormat.HEADER_BYTES) / DecisionLogFormat.RECORD_BYTES;
+            indexOffset = namesOffset = 0;
+            indexCount = nameCount = 0;
+        }
+    }
+
+    static DecisionLogReader open(Path path) throws IOException {
+        return new DecisionLogReader(FileChannel.open(path, StandardOpenOption.READ));
+    }
+
+    long index(int k) throws IOException {
+        return read(indexOffset + 8L * k, 8).getLong(0);
+    }
+
+    // kind, where, id, time, value of record i
+    int[] record(long i) throws IOException {
+        ByteBuffer r = read(offset(i), DecisionLogFormat.RECORD_BYTES);
+        int head = r.getInt(0);
+        return new int[]{head & 0xFF, head >>> 8, r.getInt(4), r.getInt(8), r.getInt(12)};
+    }
+
+    // the first i in [from, to) where the two logs' records differ, -1 if none
+    long firstDifference(DecisionLogReader other, long from, long to) throws IOException {
+        to = Math.min(to, Math.min(records, other.records));
+        int chunk = 4096;
+        for (long start = from; start < to; start += chunk) {
+            int n = (int) Math.min(chunk, to - start);
+            ByteBuffer a = read(offset(start), n * DecisionLogFormat.RECORD_BYTES);
+            ByteBuffer b = other.read(other.offset(start), n * DecisionLogFormat.RECORD_BYTES);
+            int mismatch = a.mismatch(b);
+            if (mismatch >= 0) return start + mismatch / DecisionLogFormat.RECORD_BYTES;
+        }
+        return -1;
+    }
+
+    String describe(long i) throws IOException {
+        int[] r = record(i);
+        int kind = r[0];
+        String name = DecisionLogFormat.KINDS[kind];
+        String process = r[2] < 0 ? "" : name(r[2]);
+        switch (kind) {
+            case DecisionLogFormat.START: return "start " + r[4] + " processes";
+            case DecisionLogFormat.FINISH: return "t=" + r[3] + " finish";
+            case DecisionLogFormat.CONTEXT_SWITCH: return "t=" + r[3] + " contextSwitch core " + r[1] + " until " + r[4];
+            case DecisionLogFormat.COMPLETE: return "t=" + r[3] + " complete " + process + " waited " + r[4];
+            case DecisionLogFormat.QUANTUM: return "t=" + r[3] + " quantum " + process + " = " + r[4];
+            case DecisionLogFormat.AGING: return "t=" + r[3] + " aging " + process + " = " + r[4];
+            case DecisionLogFormat.MIGRATE: return "t=" + r[3] + " migrate " + process + " core " + r[1] + " -> " + r[4];
+            case DecisionLogFormat.BLOCK: return "t=" + r[3] + " block " + process + " on device " + r[1];
+            case DecisionLogFormat.IO: return "t=" + r[3] + " io " + process + " on device " + r[1] + " until " + r[4];
+            default: return "t=" + r[3] + " " + name + " " + process + " core " + r[1];
+        }
+    }
+
+    String name(int id) throws IOException {
+        if (names == null) {
+            names = new String[nameCount];
+            long position = namesOffset;
+            for (int i = 0; i < nameCount; i++) {
+                int length = read(position, 4).getInt(0);
+                ByteBuffer bytes = read(position + 4, length);
+                names[i] = StandardCharsets.UTF_8.decode(bytes).toString();
+                position += 4 + length;
+            }
+        }
+        return id < names.length ? names[id] : "#" + id;
+    }
+
+    private long offset(long i) {
+        return DecisionLogFormat.HEADER_BYTES + i * DecisionLogFormat.RECORD_BYTES;
+    }
+
+    private ByteBuffer read(long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0)
+                throw new IOException("Decision log truncated at " + (position + buffer.position()));
+        }
+        return buffer.flip();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
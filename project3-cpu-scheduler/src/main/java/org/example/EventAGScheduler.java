@@ -0,0 +1,195 @@
+package org.example;
+
+// =====================================================
+// AG Scheduler (event-driven)
+// =====================================================
+// Same schedule and quantum history as AGScheduler. A dispatched process
+// only needs attention at the 25% point, from the 50% point onwards when
+// something new arrives, and when it completes or uses up its quantum, so
+// the clock jumps between those points. The ready set answers "FIFO next",
+// "best priority" and "shortest remaining" through three indexed heaps.
+class EventAGScheduler implements Scheduler {
+
+    int contextSwitch;
+
+    public EventAGScheduler(int contextSwitch) {
+        this.contextSwitch = contextSwitch;
+    }
+
+    // ready queue: ties in every view go to whoever was queued first
+    private static class ReadySet {
+        final IndexedMinHeap fifo;
+        final IndexedMinHeap byPriority;
+        final IndexedMinHeap byRemaining;
+        int seq;
+
+        ReadySet(int n) {
+            fifo = new IndexedMinHeap(n);
+            byPriority = new IndexedMinHeap(n);
+            byRemaining = new IndexedMinHeap(n);
+        }
+
+        boolean isEmpty() {
+            return fifo.isEmpty();
+        }
+
+        void add(int id, int priority, int remaining) {
+            fifo.add(id, IndexedMinHeap.key(0, seq));
+            byPriority.add(id, IndexedMinHeap.key(priority, seq));
+            byRemaining.add(id, IndexedMinHeap.key(remaining, seq));
+            seq++;
+        }
+
+        void remove(int id) {
+            fifo.remove(id);
+            byPriority.remove(id);
+            byRemaining.remove(id);
+        }
+
+        int pollFirst() {
+            int id = fifo.peek();
+            remove(id);
+            return id;
+        }
+    }
+
+    @Override
+    public SimulationResult simulate(Workload workload) {
+        SimulationResult result = Scheduler.super.simulate(workload);
+        AGScheduler.roundAverages(result);
+        return result;
+    }
+
+    @Override
+    public void run(Workload w, SimulationListener listener) {
+        listener = Instrumentation.attach(this, listener);
+        listener.onStart(w);
+
+        int n = w.size();
+        int[] remaining = new int[n];
+        int[] quantum = new int[n];
+
+        // init quantum history
+        for (int i = 0; i < n; i++) {
+            remaining[i] = w.burst(i);
+            quantum[i] = w.quantum(i);
+            listener.onQuantumChange(i, 0, quantum[i]);
+        }
+
+        // arrival order
+        int[] order = w.arrivalOrder();
+        ReadySet ready = new ReadySet(n);
+
+        int currentTime = 0;
+        int procIdx = 0;
+        int finished = 0;
+
+        while (finished < n) {
+
+            procIdx = admit(w, remaining, order, procIdx, currentTime, ready);
+
+            // CPU idle: jump to the next arrival
+            if (ready.isEmpty()) {
+                currentTime = w.arrival(order[procIdx]);
+                continue;
+            }
+
+            int current = ready.pollFirst();
+            listener.onDispatch(current, currentTime);
+
+            // one pass per dispatch; a preemption hands the CPU straight to the replacement
+            while (current >= 0) {
+                int q = quantum[current];
+                int time25 = (int) Math.ceil(q * 0.25);
+                int time50 = 2 * time25;
+                int end = q > 0 ? Math.min(remaining[current], q) : remaining[current];
+                int start = currentTime;
+                int used = 0;
+                int replacement = -1;
+
+                // ---- Priority check after 25% of quantum ----
+                if (time25 < end) {
+                    remaining[current] -= time25 - used;
+                    used = time25;
+                    currentTime = start + used;
+                    procIdx = admit(w, remaining, order, procIdx, currentTime, ready);
+
+                    if (!ready.isEmpty()
+                            && w.priority(ready.byPriority.peek()) < w.priority(current)) {
+                        replacement = ready.byPriority.peek();
+                        quantum[current] += (int) Math.ceil((q - used) / 2.0);
+                    }
+                }
+
+                // ---- SJF check from 50% of quantum, repeated whenever something arrives ----
+                int k = Math.max(time50, time25 + 1);
+                while (replacement < 0 && k < end) {
+                    remaining[current] -= k - used;
+                    used = k;
+                    currentTime = start + used;
+                    procIdx = admit(w, remaining, order, procIdx, currentTime, ready);
+
+                    if (!ready.isEmpty()
+                            && remaining[ready.byRemaining.peek()] < remaining[current]) {
+                        replacement = ready.byRemaining.peek();
+                        quantum[current] += q - used;
+                        break;
+                    }
+
+                    if (procIdx >= n) break;
+                    k = Math.max(k + 1, w.arrival(order[procIdx]) - start);
+                }
+
+                if (replacement >= 0) {
+                    listener.onQuantumChange(current, currentTime, quantum[current]);
+                    listener.onPreempt(current, currentTime);
+
+                    // put current back, switch to replacement
+                    ready.add(current, w.priority(current), remaining[current]);
+                    ready.remove(replacement);
+                    current = replacement;
+
+                    // context switch time
+                    listener.onContextSwitch(currentTime, currentTime + contextSwitch);
+                    currentTime += contextSwitch;
+                    procIdx = admit(w, remaining, order, procIdx, currentTime, ready);
+                    listener.onDispatch(current, currentTime);
+                    continue;
+                }
+
+                // run to completion or quantum exhaustion; arrivals before the
+                // last tick are queued ahead of the current process
+                remaining[current] -= end - used;
+                currentTime = start + end;
+                procIdx = admit(w, remaining, order, procIdx, currentTime - 1, ready);
+
+                if (remaining[current] == 0) {
+                    quantum[current] = 0;
+                    listener.onQuantumChange(current, currentTime, 0);
+                    finished++;
+
+                    int turnaround = currentTime - w.arrival(current);
+                    int waiting = turnaround - w.burst(current);
+
+                    listener.onComplete(current, currentTime, waiting, turnaround);
+                } else {
+                    quantum[current] += 2;
+                    listener.onQuantumChange(current, currentTime, quantum[current]);
+                    listener.onPreempt(current, currentTime);
+                    ready.add(current, w.priority(current), remaining[current]);
+                }
+                current = -1;
+            }
+        }
+
+        listener.onFinish(currentTime);
+    }
+
+    private int admit(Workload w, int[] remaining, int[] order, int procIdx, int time, ReadySet ready) {
+        while (procIdx < order.length && w.arrival(order[procIdx]) <= time) {
+            ready.add(order[procIdx], w.priority(order[procIdx]), remaining[order[procIdx]]);
+            procIdx++;
+        }
+        return procIdx;
+    }
+}
@@ -0,0 +1,82 @@
+package org.example;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+
+// =====================================================
+// EventLogListener (CSV file sink)
+// =====================================================
+// One line per event: time,event,process,value. The caller owns the Writer
+// (and should buffer it); write failures surface as UncheckedIOException.
+class EventLogListener implements SimulationListener {
+    private final Writer out;
+    private Workload workload;
+
+    public EventLogListener(Writer out) {
+        this.out = out;
+    }
+
+    @Override
+    public void onStart(Workload workload) {
+        this.workload = workload;
+        write("time,event,process,value\n");
+    }
+
+    @Override
+    public void onDispatch(int id, int time) {
+        write(time + ",dispatch," + workload.name(id) + ",\n");
+    }
+
+    @Override
+    public void onPreempt(int id, int time) {
+        write(time + ",preempt," + workload.name(id) + ",\n");
+    }
+
+    @Override
+    public void onComplete(int id, int time, int waitingTime, int turnaroundTime) {
+        write(time + ",complete," + workload.name(id) + "," + waitingTime + "\n");
+    }
+
+    @Override
+    public void onContextSwitch(int from, int to) {
+        write(from + ",contextSwitch,," + (to - from) + "\n");
+    }
+
+    @Override
+    public void onQuantumChange(int id, int time, int quantum) {
+        write(time + ",quantum," + workload.name(id) + "," + quantum + "\n");
+    }
+
+    @Override
+    public void onAging(int id, int time, int priority) {
+        write(time + ",aging," + workload.name(id) + "," + priority + "\n");
+    }
+
+    @Override
+    public void onBlock(int id, int time, int device) {
+        write(time + ",block," + workload.name(id) + "," + workload.devices().get(device) + "\n");
+    }
+
+    @Override
+    public void onIO(int id, int device, int from, int to) {
+        write(from + ",io," + workload.name(id) + "," + (to - from) + "\n");
+    }
+
+    @Override
+    public void onFinish(int time) {
+        write(time + ",finish,,\n");
+        try {
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void write(String line) {
+        try {
+            out.write(line);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package org.example;
+
+// =====================================================
+// SJF Preemptive (event-driven)
+// =====================================================
+// Same schedule as SJFScheduler, but instead of stepping one time unit and
+// scanning every process, arrivals are consumed from a sorted cursor and
+// ready jobs sit in a heap keyed on remainingTime. The clock jumps straight
+// to the next arrival or completion.
+class EventSJFScheduler implements Scheduler {
+    int contextSwitch;
+
+    public EventSJFScheduler(int contextSwitch) {
+        this.contextSwitch = contextSwitch;
+    }
+
+    @Override
+    public void run(Workload w, SimulationListener listener) {
+        listener = Instrumentation.attach(this, listener);
+        listener.onStart(w);
+
+        int n = w.size();
+        int[] order = w.arrivalOrder();
+        int[] remaining = new int[n];
+        for (int i = 0; i < n; i++)
+            remaining[i] = w.burst(i);
+
+        // ready jobs by arrival rank, keyed on (remainingTime, rank); the running job stays outside
+        IndexedMinHeap ready = new IndexedMinHeap(n);
+
+        int time = 0;
+        int completed = 0;
+        int nextArrival = 0;
+        int current = -1;
+        int last = -1;
+
+        while (completed < n) {
+            while (nextArrival < n && w.arrival(order[nextArrival]) <= time) {
+                ready.add(nextArrival, IndexedMinHeap.key(remaining[order[nextArrival]], nextArrival));
+                nextArrival++;
+            }
+
+            // CPU idle: jump to the next arrival
+            if (current < 0 && ready.isEmpty()) {
+                time = w.arrival(order[nextArrival]);
+                continue;
+            }
+
+            int shortest = current;
+            if (!ready.isEmpty() && (current < 0
+                    || ready.peekKey() < IndexedMinHeap.key(remaining[order[current]], current))) {
+                if (current >= 0)
+                    ready.add(current, IndexedMinHeap.key(remaining[order[current]], current));
+                shortest = ready.poll();
+            }
+
+            int p = order[shortest];
+            if (shortest != last) {
+                if (last >= 0) {
+                    if (remaining[order[last]] > 0)
+                        listener.onPreempt(order[last], time);
+                    listener.onContextSwitch(time, time + contextSwitch);
+                    time += contextSwitch;
+                }
+                listener.onDispatch(p, time);
+            }
+
+            // run until completion or the next arrival; anything that arrived
+            // during the context switch is only looked at after one time unit
+            int slice = remaining[p];
+            if (nextArrival < n) {
+                int untilArrival = w.arrival(order[nextArrival]) - time;
+                slice = Math.min(slice, Math.max(untilArrival, 1));
+            }
+
+            remaining[p] -= slice;
+            time += slice;
+
+            if (remaining[p] == 0) {
+                int turnaroundTime = time - w.arrival(p);
+                int waitingTime = turnaroundTime - w.burst(p);
+
+                listener.onComplete(p, time, waitingTime, turnaroundTime);
+                completed++;
+                current = -1;
+            } else {
+                current = shortest;
+            }
+
+            last = shortest;
+        }
+
+        listener.onFinish(time);
+    }
+}
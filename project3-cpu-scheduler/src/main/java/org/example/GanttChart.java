@@ -0,0 +1,413 @@
+package org.example;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+// =====================================================
+// GanttChart (SVG / HTML timeline, fixed size at any length)
+// =====================================================
+// A listener that draws one row per core, plus one per busy I/O device, as the
+// run goes. Nothing per segment is kept: time is cut into `width` buckets of
+// equal length, one per pixel. A segment at least a bucket long is drawn as
+// its own bar (a row holds at most `width` of them); a shorter one only adds
+// its time to the buckets it covers, drawn as a shaded band whose opacity is
+// the bucket's occupancy. Whenever the run outgrows width x bucket, the
+// bucket length doubles: neighbouring buckets merge and bars that became
+// narrower than a pixel fold into them. Memory is O(rows x width) and the
+// file a few hundred KB per row, however many segments the run has. The
+// chart is written on onFinish; events also go on to next.
+class GanttChart implements MultiCoreListener, Closeable {
+    static final int DEFAULT_WIDTH = 1200;
+
+    private static final int LABEL_WIDTH = 70;
+    private static final int ROW_HEIGHT = 22;
+    private static final int ROW_GAP = 6;
+    private static final int AXIS_HEIGHT = 30;
+    private static final int SHADES = 32; // occupancy levels, so equal neighbours merge into one rect
+
+    private final Writer out;
+    private final boolean html;
+    private final int width;
+    private final MultiCoreListener next;
+
+    private Workload workload;
+    private long bucket = 1;
+    private final List<Row> cores = new ArrayList<>();
+    private final List<Row> devices = new ArrayList<>();
+
+    public GanttChart(Path path, SimulationListener next) throws IOException {
+        this(path, DEFAULT_WIDTH, next);
+    }
+
+    public GanttChart(Path path, int width, SimulationListener next) throws IOException {
+        this(Files.newBufferedWriter(path, StandardCharsets.UTF_8),
+                path.getFileName().toString().endsWith(".html"), width, next);
+    }
+
+    GanttChart(Writer out, boolean html, int width, SimulationListener next) {
+        if (width < 16) throw new IllegalArgumentException("width must be at least 16");
+        this.out = out;
+        this.html = html;
+        this.width = width;
+        this.next = MultiCoreScheduler.tagged(next);
+    }
+
+    // time units per pixel bucket
+    long bucket() {
+        return bucket;
+    }
+
+    private Row core(int core) {
+        while (cores.size() <= core)
+            cores.add(new Row("Core " + cores.size()));
+        return cores.get(core);
+    }
+
+    // device rows appear with their first I/O
+    private Row device(int device) {
+        while (devices.size() <= device)
+            devices.add(new Row(workload.devices().get(devices.size())));
+        return devices.get(device);
+    }
+
+    // a row has drawn up to time: double the buckets until it fits
+    private void reach(long time) {
+        while (time > bucket * width) {
+            bucket *= 2;
+            for (Row r : cores) r.coarsen();
+            for (Row r : devices) r.coarsen();
+        }
+    }
+
+    @Override
+    public void onStart(Workload workload) {
+        this.workload = workload;
+        next.onStart(workload);
+    }
+
+    @Override
+    public void onDispatch(int id, int time) {
+        onDispatch(0, id, time);
+    }
+
+    @Override
+    public void onDispatch(int core, int id, int time) {
+        core(core).open(id, time);
+        next.onDispatch(core, id, time);
+    }
+
+    @Override
+    public void onPreempt(int id, int time) {
+        onPreempt(0, id, time);
+    }
+
+    @Override
+    public void onPreempt(int core, int id, int time) {
+        core(core).close(time);
+        next.onPreempt(core, id, time);
+    }
+
+    @Override
+    public void onBlock(int id, int time, int device) {
+        onBlock(0, id, time, device);
+    }
+
+    @Override
+    public void onBlock(int core, int id, int time, int device) {
+        core(core).close(time);
+        next.onBlock(core, id, time, device);
+    }
+
+    @Override
+    public void onIO(int id, int device, int from, int to) {
+        device(device).segment(id, from, to);
+        next.onIO(id, device, from, to);
+    }
+
+    @Override
+    public void onComplete(int id, int time, int waitingTime, int turnaroundTime) {
+        onComplete(0, id, time, waitingTime, turnaroundTime);
+    }
+
+    @Override
+    public void onComplete(int core, int id, int time, int waitingTime, int turnaroundTime) {
+        core(core).close(time);
+        next.onComplete(core, id, time, waitingTime, turnaroundTime);
+    }
+
+    @Override
+    public void onContextSwitch(int from, int to) {
+        onContextSwitch(0, from, to);
+    }
+
+    @Override
+    public void onContextSwitch(int core, int from, int to) {
+        core(core).contextSwitch(from, to);
+        next.onContextSwitch(core, from, to);
+    }
+
+    @Override
+    public void onQuantumChange(int id, int time, int quantum) {
+        next.onQuantumChange(id, time, quantum);
+    }
+
+    @Override
+    public void onAging(int id, int time, int priority) {
+        next.onAging(id, time, priority);
+    }
+
+    @Override
+    public void onMigrate(int id, int time, int fromCore, int toCore) {
+        next.onMigrate(id, time, fromCore, toCore);
+    }
+
+    @Override
+    public void onFinish(int time) {
+        try {
+            render(time);
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        next.onFinish(time);
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    // =====================================================
+    // Row (one core or device: bars, plus per-bucket occupancy)
+    // =====================================================
+    private class Row {
+        final String label;
+        private final long[] busy = new long[width];      // time of short segments per bucket
+        private final int[] count = new int[width];       // short segments starting in each bucket
+        private final long[] switching = new long[width]; // context switch time per bucket
+
+        // bars, in time order; they never overlap, so there are at most width of them
+        private final int[] id = new int[width + 1];
+        private final int[] start = new int[width + 1];
+        private final int[] end = new int[width + 1];
+        private int bars;
+
+        private int running = -1;
+        private int since;
+
+        Row(String label) {
+            this.label = label;
+        }
+
+        void open(int id, int time) {
+            running = id;
+            since = time;
+        }
+
+        void close(int time) {
+            if (running >= 0) segment(running, since, time);
+            running = -1;
+        }
+
+        void segment(int pid, int from, int to) {
+            if (to <= from) return;
+            reach(to);
+            if (to - from >= bucket && bars < id.length) {
+                id[bars] = pid;
+                start[bars] = from;
+                end[bars] = to;
+                bars++;
+            } else {
+                count[(int) (from / bucket)]++;
+                spread(busy, from, to);
+            }
+        }
+
+        void contextSwitch(int from, int to) {
+            if (to <= from) return;
+            reach(to);
+            spread(switching, from, to);
+        }
+
+        // adds [from, to) to the buckets it covers
+        private void spread(long[] buckets, long from, long to) {
+            while (from < to) {
+                int b = (int) (from / bucket);
+                long edge = Math.min(to, (b + 1) * bucket);
+                buckets[b] += edge - from;
+                from = edge;
+            }
+        }
+
+        // the bucket length has just doubled
+        void coarsen() {
+            for (int b = 0; b < width; b++) {
+                int lo = 2 * b, hi = 2 * b + 1;
+                busy[b] = (lo < width ? busy[lo] : 0) + (hi < width ? busy[hi] : 0);
+                count[b] = (lo < width ? count[lo] : 0) + (hi < width ? count[hi] : 0);
+                switching[b] = (lo < width ? switching[lo] : 0) + (hi < width ? switching[hi] : 0);
+            }
+            int kept = 0;
+            for (int i = 0; i < bars; i++) {
+                if (end[i] - start[i] >= bucket) {
+                    id[kept] = id[i];
+                    start[kept] = start[i];
+                    end[kept] = end[i];
+                    kept++;
+                } else {
+                    count[(int) (start[i] / bucket)]++;
+                    spread(busy, start[i], end[i]);
+                }
+            }
+            bars = kept;
+        }
+
+        void render(Writer out, int y, double scale) throws IOException {
+            out.write(String.format("<text x=\"%d\" y=\"%d\" class=\"label\">%s</text>%n",
+                    LABEL_WIDTH - 6, y + ROW_HEIGHT / 2 + 4, escape(label)));
+
+            // occupancy bands: one rect per run of buckets in the same shade
+            int buckets = (int) Math.min(width, (long) Math.ceil(end() / (double) bucket));
+            for (int b = 0; b < buckets; ) {
+                int shade = shade(busy[b]);
+                int last = b;
+                int segments = count[b];
+                long time = busy[b];
+                while (last + 1 < buckets && shade(busy[last + 1]) == shade) {
+                    last++;
+                    segments += count[last];
+                    time += busy[last];
+                }
+                if (shade > 0) {
+                    long from = b * bucket, to = (last + 1) * bucket;
+                    out.write(String.format("<rect x=\"%.2f\" y=\"%d\" width=\"%.2f\" height=\"%d\" class=\"busy\""
+                                    + " fill-opacity=\"%.3f\"><title>%d short segments, %.0f%% busy, t=%d..%d</title></rect>%n",
+                            LABEL_WIDTH + from * scale, y, (to - from) * scale, ROW_HEIGHT,
+                            shade / (double) SHADES, segments, 100.0 * time / (to - from), from, to));
+                }
+                b = last + 1;
+            }
+
+            for (int i = 0; i < bars; i++) {
+                String name = escape(workload.name(id[i]));
+                double x = LABEL_WIDTH + start[i] * scale, w = (end[i] - start[i]) * scale;
+                out.write(String.format("<rect x=\"%.2f\" y=\"%d\" width=\"%.2f\" height=\"%d\" fill=\"hsl(%d,55%%,60%%)\">"
+                                + "<title>%s t=%d..%d</title></rect>%n",
+                        x, y, w, ROW_HEIGHT, (int) (id[i] * 137.508 % 360), name, start[i], end[i]));
+                if (w >= 8 * name.length() + 4)
+                    out.write(String.format("<text x=\"%.2f\" y=\"%d\" class=\"name\">%s</text>%n",
+                            x + w / 2, y + ROW_HEIGHT / 2 + 4, name));
+            }
+
+            // context switches: a strip along the bottom of the row
+            for (int b = 0; b < buckets; b++) {
+                if (switching[b] == 0) continue;
+                int last = b;
+                while (last + 1 < buckets && switching[last + 1] > 0)
+                    last++;
+                out.write(String.format("<rect x=\"%.2f\" y=\"%d\" width=\"%.2f\" height=\"3\" class=\"switch\"/>%n",
+                        LABEL_WIDTH + b * bucket * scale, y + ROW_HEIGHT - 3, (last + 1 - b) * bucket * scale));
+                b = last;
+            }
+        }
+
+        private int shade(long time) {
+            return time == 0 ? 0 : (int) Math.max(1, Math.min(SHADES, time * SHADES / bucket));
+        }
+
+        // the end of this row's last drawn time, at bucket precision
+        private long end() {
+            long e = bars > 0 ? end[bars - 1] : 0;
+            for (int b = width - 1; b >= 0; b--) {
+                if (busy[b] > 0 || switching[b] > 0) {
+                    e = Math.max(e, (b + 1) * bucket);
+                    break;
+                }
+            }
+            return e;
+        }
+    }
+
+    // =====================================================
+    // Rendering
+    // =====================================================
+
+    private void render(int time) throws IOException {
+        reach(time);
+        long span = Math.max(1, time);
+        double scale = (double) width / span;
+        List<Row> rows = new ArrayList<>(cores);
+        rows.addAll(devices);
+        int height = rows.size() * (ROW_HEIGHT + ROW_GAP) + AXIS_HEIGHT;
+        int total = LABEL_WIDTH + width + 20;
+
+        if (html) {
+            out.write("<!DOCTYPE html>\n<html><head><meta charset=\"utf-8\"><title>Gantt chart</title></head>\n<body>\n");
+        }
+        out.write(String.format("<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"%d\" height=\"%d\" viewBox=\"0 0 %d %d\">%n",
+                total, height, total, height));
+        out.write("<style>text{font:11px sans-serif}.label{text-anchor:end}.name{text-anchor:middle}"
+                + ".tick{text-anchor:middle;fill:#555}.busy{fill:#4a6fa5}.switch{fill:#c0392b}"
+                + "line{stroke:#bbb}</style>\n");
+
+        int y = 0;
+        for (Row row : rows) {
+            row.render(out, y, scale);
+            y += ROW_HEIGHT + ROW_GAP;
+        }
+
+        // time axis with round ticks
+        out.write(String.format("<line x1=\"%d\" y1=\"%d\" x2=\"%d\" y2=\"%d\"/>%n", LABEL_WIDTH, y, LABEL_WIDTH + width, y));
+        long step = tickStep(span);
+        for (long t = 0; t <= span; t += step) {
+            double x = LABEL_WIDTH + t * scale;
+            out.write(String.format("<line x1=\"%.2f\" y1=\"%d\" x2=\"%.2f\" y2=\"%d\"/>"
+                    + "<text x=\"%.2f\" y=\"%d\" class=\"tick\">%d</text>%n", x, y, x, y + 4, x, y + 16, t));
+        }
+        out.write("</svg>\n");
+        if (html) out.write("</body></html>\n");
+    }
+
+    // 1, 2 or 5 x 10^k, for at most about ten ticks
+    static long tickStep(long span) {
+        long step = 1;
+        while (true) {
+            for (long m : new long[]{1, 2, 5}) {
+                if (span / (step * m) <= 10) return step * m;
+            }
+            step *= 10;
+        }
+    }
+
+    private static String escape(String s) {
+        return s.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+
+    // usage: GanttChart <scenario.json|.trace> <SJF|RR|Priority|AG|MLFQ|CFS> <out.svg|out.html> [width]
+    public static void main(String[] args) throws IOException {
+        if (args.length < 3) {
+            System.out.println("Usage: GanttChart <scenario.json|.trace> <SJF|RR|Priority|AG|MLFQ|CFS> <out.svg|out.html> [width]");
+            return;
+        }
+        BatchRunner.BatchInput in = BatchRunner.BatchInput.load(new File(args[0]));
+        // a workload with I/O gets IOScheduler, its CPU and I/O bursts overlapped
+        Scheduler s = in.scheduler(args[1]);
+        int width = args.length >= 4 ? Integer.parseInt(args[3]) : DEFAULT_WIDTH;
+
+        Path path = Paths.get(args[2]);
+        SummaryListener summary = new SummaryListener();
+        try (GanttChart chart = new GanttChart(path, width, summary)) {
+            s.run(in.workload, chart);
+            System.out.printf("%s: %d dispatches, finished at %d, %d time units per pixel -> %s%n",
+                    args[1], summary.dispatches, summary.finishTime, chart.bucket(), path);
+        }
+    }
+}
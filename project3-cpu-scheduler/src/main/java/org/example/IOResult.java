@@ -0,0 +1,64 @@
+package org.example;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.List;
+import java.util.function.IntFunction;
+
+// =====================================================
+// IOResult
+// =====================================================
+// A MultiCoreResult that also adds up device time. cpuUtilization is busy
+// time over cores x the whole run, deviceUtilization[d] is device d's
+// service time over the run, throughput is completions per time unit.
+class IOResult extends MultiCoreResult {
+    List<String> devices = List.of();
+    long[] deviceBusy = new long[0];
+    double cpuUtilization;
+    double[] deviceUtilization = new double[0];
+    double throughput;
+
+    IOResult(IntFunction<String> names, int cores) {
+        super(names, cores);
+    }
+
+    @Override
+    public void onStart(Workload workload) {
+        super.onStart(workload);
+        devices = workload.devices();
+        deviceBusy = new long[devices.size()];
+    }
+
+    @Override
+    public void onIO(int id, int device, int from, int to) {
+        deviceBusy[device] += to - from;
+    }
+
+    @Override
+    public void save(DataOutput out) throws IOException {
+        super.save(out);
+        for (long busy : deviceBusy)
+            out.writeLong(busy);
+    }
+
+    @Override
+    public void restore(DataInput in) throws IOException {
+        super.restore(in);
+        for (int d = 0; d < deviceBusy.length; d++)
+            deviceBusy[d] = in.readLong();
+    }
+
+    @Override
+    public void onFinish(int time) {
+        super.onFinish(time);
+
+        double busy = 0;
+        for (double u : utilization)
+            busy += u;
+        cpuUtilization = busy / utilization.length;
+        deviceUtilization = new double[deviceBusy.length];
+        for (int d = 0; d < deviceBusy.length; d++)
+            deviceUtilization[d] = time == 0 ? 0 : (double) deviceBusy[d] / time;
+        throughput = time == 0 ? 0 : (double) processResults.size() / time;
+    }
+}
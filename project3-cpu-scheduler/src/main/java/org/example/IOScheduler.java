@@ -0,0 +1,179 @@
+package org.example;
+
+// =====================================================
+// IOScheduler (CPU bursts on a MultiCoreScheduler, I/O on devices)
+// =====================================================
+// Plays out each process's CPU/I-O sequence (Workload.cpuBursts). Every CPU
+// burst goes to a MultiCoreScheduler Machine as if the process had just
+// arrived with that burst, so any of its policies, core counts and balancing
+// schedules the CPU. When a burst is followed by I/O the process blocks
+// (onBlock) and joins its device's FIFO queue; a device serves one request at
+// a time (onIO), and when that is done the next CPU burst arrives. Other
+// processes use the CPU meanwhile, which is the overlap a CPU-only run
+// misses. Waiting time is time in the ready queues (context switches
+// included, as in the CPU-only engines) over all of a process's bursts;
+// turnaround runs from its arrival to the end of its last burst. On a
+// CPU-only workload the schedule is exactly the wrapped scheduler's.
+class IOScheduler implements Scheduler {
+    final MultiCoreScheduler cpu;
+
+    public IOScheduler(MultiCoreScheduler cpu) {
+        this.cpu = cpu;
+    }
+
+    // one core, policy "RR", "SJF" or "Priority"
+    public IOScheduler(String policy, int contextSwitch, int rrQuantum, int agingInterval) {
+        this(new MultiCoreScheduler(policy, 1, contextSwitch, rrQuantum, agingInterval));
+    }
+
+    @Override
+    public void run(Workload workload, SimulationListener listener) {
+        cpu.validate();
+        new Run(workload, MultiCoreScheduler.tagged(Instrumentation.attach(this, listener))).run();
+    }
+
+    @Override
+    public IOResult simulate(Workload workload) {
+        IOResult result = new IOResult(workload::name, cpu.cores);
+        result.inputOrder = cpu.policy.equals("Priority");
+        run(workload, result);
+        return result;
+    }
+
+    // =====================================================
+    // Run (one simulation: the Machine, the devices, the burst cursor)
+    // =====================================================
+    private class Run implements MultiCoreListener {
+        private final Workload w;
+        private final MultiCoreListener events;
+        private final Bursts bursts;
+        private final MultiCoreScheduler.Machine machine;
+        private final int[] burst;             // id -> index of its current CPU burst
+        private final int[] waited;            // id -> ready-queue time over its bursts so far
+
+        private final IntQueue[] queue;        // device -> ids waiting for it
+        private final int[] serving;           // device -> id in service, -1 when idle
+        private final IndexedMinHeap inService; // devices keyed on (done, device)
+
+        Run(Workload w, MultiCoreListener events) {
+            int n = w.size();
+            int devices = w.devices().size();
+            this.w = w;
+            this.events = events;
+            this.bursts = new Bursts(w);
+            this.machine = cpu.new Machine(bursts, this, n);
+            this.burst = new int[n];
+            this.waited = new int[n];
+            this.queue = new IntQueue[devices];
+            this.serving = new int[devices];
+            this.inService = new IndexedMinHeap(devices);
+            for (int d = 0; d < devices; d++) {
+                queue[d] = new IntQueue(16);
+                serving[d] = -1;
+            }
+        }
+
+        void run() {
+            int n = w.size();
+            int[] order = w.arrivalOrder();
+            // like MultiCoreScheduler, Priority completes empty processes up front
+            boolean skipEmpty = cpu.policy.equals("Priority");
+            int cursor = 0;
+
+            events.onStart(w);
+            if (skipEmpty) {
+                for (int i = 0; i < n; i++)
+                    if (w.burst(i) <= 0) events.onComplete(0, i, w.arrival(i), 0, 0);
+            }
+
+            while (true) {
+                // one CPU event time at a time: each may start I/O that is done before t
+                int t = nextEvent(order, cursor);
+                if (!machine.advance(t, 1) || nextEvent(order, cursor) < t) continue;
+                if (t == Integer.MAX_VALUE) break;
+
+                // I/O done at t, then arrivals at t, all before any core decides
+                while (!inService.isEmpty() && (int) (inService.peekKey() >>> 32) == t) {
+                    int d = inService.poll();
+                    int id = serving[d];
+                    serving[d] = -1;
+                    burst[id]++;
+                    ready(id, t);
+                    serve(d, t);
+                }
+                while (cursor < n && w.arrival(order[cursor]) == t) {
+                    int id = order[cursor++];
+                    if (!skipEmpty || w.burst(id) > 0) ready(id, t);
+                    else machine.wake(t);
+                }
+            }
+
+            events.onFinish(machine.time);
+        }
+
+        // the earliest arrival or end of I/O
+        private int nextEvent(int[] order, int cursor) {
+            int t = cursor < order.length ? w.arrival(order[cursor]) : Integer.MAX_VALUE;
+            if (!inService.isEmpty()) t = Math.min(t, (int) (inService.peekKey() >>> 32));
+            return t;
+        }
+
+        // id's current CPU burst arrives at time
+        private void ready(int id, int time) {
+            bursts.arrival[id] = time;
+            bursts.burst[id] = w.cpuBurst(id, burst[id]);
+            machine.submit(id);
+        }
+
+        // the next request in d's queue, if d is free
+        private void serve(int d, int time) {
+            if (serving[d] >= 0 || queue[d].isEmpty()) return;
+            int id = queue[d].poll();
+            int done = time + w.ioBurst(id, burst[id]);
+            serving[d] = id;
+            inService.add(d, IndexedMinHeap.key(done, d));
+            events.onIO(id, d, time, done);
+        }
+
+        // a CPU burst is over: the process is done, or off to its next I/O
+        public void onComplete(int core, int id, int time, int waitingTime, int turnaroundTime) {
+            waited[id] += waitingTime;
+            if (burst[id] == w.cpuBursts(id) - 1) {
+                events.onComplete(core, id, time, waited[id], time - w.arrival(id));
+                return;
+            }
+            int d = w.ioDevice(id, burst[id]);
+            events.onBlock(core, id, time, d);
+            queue[d].add(id);
+            serve(d, time);
+        }
+
+        public void onDispatch(int core, int id, int time) { events.onDispatch(core, id, time); }
+        public void onPreempt(int core, int id, int time) { events.onPreempt(core, id, time); }
+        public void onContextSwitch(int core, int from, int to) { events.onContextSwitch(core, from, to); }
+        public void onMigrate(int id, int time, int fromCore, int toCore) { events.onMigrate(id, time, fromCore, toCore); }
+        public void onAging(int id, int time, int priority) { events.onAging(id, time, priority); }
+    }
+
+    // =====================================================
+    // Bursts (the workload as the Machine sees it: one CPU burst at a time)
+    // =====================================================
+    private static class Bursts implements Workload {
+        private final Workload w;
+        final int[] arrival;
+        final int[] burst;
+
+        Bursts(Workload w) {
+            this.w = w;
+            arrival = new int[w.size()];
+            burst = new int[w.size()];
+        }
+
+        public int size() { return w.size(); }
+        public String name(int id) { return w.name(id); }
+        public int arrival(int id) { return arrival[id]; }
+        public int burst(int id) { return burst[id]; }
+        public int priority(int id) { return w.priority(id); }
+        public int quantum(int id) { return w.quantum(id); }
+    }
+}
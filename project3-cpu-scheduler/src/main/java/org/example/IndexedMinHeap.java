@@ -0,0 +1,142 @@
+package org.example;
+
+// =====================================================
+// Indexed binary min-heap over process ids
+// =====================================================
+// Ids are 0..capacity-1 and each id holds a long key. Smaller keys come
+// out first, so callers pack (primary, tieBreak) into one long. Because
+// every id knows its heap slot, remove(id) is O(log n) as well.
+class IndexedMinHeap {
+
+    private int[] heap;        // slot -> id
+    private final int[] slot;  // id -> slot, -1 when absent
+    private final long[] keys; // id -> key
+    private int size;
+
+    public IndexedMinHeap(int capacity) {
+        this.heap = new int[capacity];
+        this.slot = new int[capacity];
+        this.keys = new long[capacity];
+        java.util.Arrays.fill(slot, -1);
+    }
+
+    private IndexedMinHeap(int[] slot, long[] keys) {
+        this.heap = new int[16];
+        this.slot = slot;
+        this.keys = keys;
+    }
+
+    // count heaps over the same ids that never hold one id at the same time
+    // (one ready queue per core): they share the id-indexed arrays and each
+    // only owns a slot -> id array that grows as needed
+    static IndexedMinHeap[] sharing(int capacity, int count) {
+        int[] slot = new int[capacity];
+        java.util.Arrays.fill(slot, -1);
+        long[] keys = new long[capacity];
+        IndexedMinHeap[] heaps = new IndexedMinHeap[count];
+        for (int i = 0; i < count; i++)
+            heaps[i] = new IndexedMinHeap(slot, keys);
+        return heaps;
+    }
+
+    // packs a primary value and a tie breaker into one key; the tie breaker is
+    // compared as unsigned, so running sequence numbers may use all 32 bits
+    static long key(int primary, int tieBreak) {
+        return ((long) primary << 32) | (tieBreak & 0xFFFFFFFFL);
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean contains(int id) {
+        return slot[id] >= 0;
+    }
+
+    public void add(int id, long key) {
+        if (size == heap.length) heap = java.util.Arrays.copyOf(heap, size * 2);
+        keys[id] = key;
+        heap[size] = id;
+        slot[id] = size;
+        siftUp(size++);
+    }
+
+    public int peek() {
+        return heap[0];
+    }
+
+    public long peekKey() {
+        return keys[heap[0]];
+    }
+
+    // some id in the last slot: a leaf, so one of the larger keys, and cheap to remove
+    public int last() {
+        return heap[size - 1];
+    }
+
+    // id in slot i (0..size-1). Adding ids back in slot order, each with its
+    // key, rebuilds exactly this layout, since no add has to sift.
+    public int at(int i) {
+        return heap[i];
+    }
+
+    public long keyOf(int id) {
+        return keys[id];
+    }
+
+    public int poll() {
+        int id = heap[0];
+        remove(id);
+        return id;
+    }
+
+    public void remove(int id) {
+        int i = slot[id];
+        slot[id] = -1;
+        size--;
+        if (i == size) return;
+
+        int moved = heap[size];
+        heap[i] = moved;
+        slot[moved] = i;
+        siftDown(i);
+        siftUp(slot[moved]);
+    }
+
+    private void siftUp(int i) {
+        int id = heap[i];
+        long k = keys[id];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            int pid = heap[parent];
+            if (keys[pid] <= k) break;
+            heap[i] = pid;
+            slot[pid] = i;
+            i = parent;
+        }
+        heap[i] = id;
+        slot[id] = i;
+    }
+
+    private void siftDown(int i) {
+        int id = heap[i];
+        long k = keys[id];
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            int right = child + 1;
+            if (right < size && keys[heap[right]] < keys[heap[child]]) child = right;
+            int cid = heap[child];
+            if (k <= keys[cid]) break;
+            heap[i] = cid;
+            slot[cid] = i;
+            i = child;
+        }
+        heap[i] = id;
+        slot[id] = i;
+    }
+}
@@ -0,0 +1,462 @@
+package org.example;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import jdk.jfr.*;
+
+// =====================================================
+// Instrumentation (JMX counters and JFR events, off unless asked for)
+// =====================================================
+// Every Scheduler's run() passes its listener through attach(). With JMX off
+// and no recording of the scheduler's JFR events, attach() returns the
+// listener itself: one check per run and nothing per event. With
+// -Dscheduler.jmx=true (or enableJmx()) each run also feeds a MetricsListener
+// into the MBean org.example:type=SchedulerMetrics,scheduler=<class>. The JFR
+// events are disabled by default and switched on by a recording, e.g.
+// -XX:StartFlightRecording:settings=scheduler.jfc; attach() looks once per
+// run, so a recording started mid-run sees the next run.
+final class Instrumentation {
+    private static volatile boolean jmx = Boolean.getBoolean("scheduler.jmx");
+    private static final Map<String, SchedulerMetrics> metrics = new ConcurrentHashMap<>();
+
+    private Instrumentation() {}
+
+    static void enableJmx() {
+        jmx = true;
+    }
+
+    // switches JMX on or off and returns the previous setting, so tests can restore it
+    static boolean setJmx(boolean enabled) {
+        boolean previous = jmx;
+        jmx = enabled;
+        return previous;
+    }
+
+    // listener, plus whatever instrumentation is switched on
+    static SimulationListener attach(Scheduler scheduler, SimulationListener listener) {
+        boolean jfr = JfrListener.recording();
+        if (!jmx && !jfr) return listener;
+
+        String name = scheduler.getClass().getSimpleName();
+        List<SimulationListener> probes = new ArrayList<>(2);
+        if (jmx) probes.add(new MetricsListener(metrics(name)));
+        if (jfr) probes.add(new JfrListener(name));
+        return new Tee(MultiCoreScheduler.tagged(listener), probes.toArray(new SimulationListener[0]));
+    }
+
+    // the scheduler's MBean, registered on first use
+    static SchedulerMetrics metrics(String scheduler) {
+        return metrics.computeIfAbsent(scheduler, name -> {
+            SchedulerMetrics bean = new SchedulerMetrics();
+            try {
+                ManagementFactory.getPlatformMBeanServer().registerMBean(bean,
+                        new ObjectName("org.example:type=SchedulerMetrics,scheduler=" + name));
+            } catch (JMException e) {
+                throw new IllegalStateException("Cannot register metrics for " + name, e);
+            }
+            return bean;
+        });
+    }
+
+    // =====================================================
+    // Tee (the caller's listener first, then the probes)
+    // =====================================================
+    // Core-tagged events reach the caller's listener tagged (MultiCoreResult
+    // needs them) and the probes untagged.
+    private static class Tee implements MultiCoreListener {
+        private final MultiCoreListener first;
+        private final SimulationListener[] probes;
+
+        Tee(MultiCoreListener first, SimulationListener[] probes) {
+            this.first = first;
+            this.probes = probes;
+        }
+
+        public void onStart(Workload workload) {
+            first.onStart(workload);
+            for (SimulationListener p : probes) p.onStart(workload);
+        }
+
+        public void onDispatch(int id, int time) {
+            first.onDispatch(id, time);
+            for (SimulationListener p : probes) p.onDispatch(id, time);
+        }
+
+        public void onDispatch(int core, int id, int time) {
+            first.onDispatch(core, id, time);
+            for (SimulationListener p : probes) p.onDispatch(id, time);
+        }
+
+        public void onPreempt(int id, int time) {
+            first.onPreempt(id, time);
+            for (SimulationListener p : probes) p.onPreempt(id, time);
+        }
+
+        public void onPreempt(int core, int id, int time) {
+            first.onPreempt(core, id, time);
+            for (SimulationListener p : probes) p.onPreempt(id, time);
+        }
+
+        public void onBlock(int id, int time, int device) {
+            first.onBlock(id, time, device);
+            for (SimulationListener p : probes) p.onBlock(id, time, device);
+        }
+
+        public void onBlock(int core, int id, int time, int device) {
+            first.onBlock(core, id, time, device);
+            for (SimulationListener p : probes) p.onBlock(id, time, device);
+        }
+
+        public void onIO(int id, int device, int from, int to) {
+            first.onIO(id, device, from, to);
+            for (SimulationListener p : probes) p.onIO(id, device, from, to);
+        }
+
+        public void onComplete(int id, int time, int waitingTime, int turnaroundTime) {
+            first.onComplete(id, time, waitingTime, turnaroundTime);
+            for (SimulationListener p : probes) p.onComplete(id, time, waitingTime, turnaroundTime);
+        }
+
+        public void onComplete(int core, int id, int time, int waitingTime, int turnaroundTime) {
+            first.onComplete(core, id, time, waitingTime, turnaroundTime);
+            for (SimulationListener p : probes) p.onComplete(id, time, waitingTime, turnaroundTime);
+        }
+
+        public void onContextSwitch(int from, int to) {
+            first.onContextSwitch(from, to);
+            for (SimulationListener p : probes) p.onContextSwitch(from, to);
+        }
+
+        public void onContextSwitch(int core, int from, int to) {
+            first.onContextSwitch(core, from, to);
+            for (SimulationListener p : probes) p.onContextSwitch(from, to);
+        }
+
+        public void onQuantumChange(int id, int time, int quantum) {
+            first.onQuantumChange(id, time, quantum);
+            for (SimulationListener p : probes) p.onQuantumChange(id, time, quantum);
+        }
+
+        public void onAging(int id, int time, int priority) {
+            first.onAging(id, time, priority);
+            for (SimulationListener p : probes) p.onAging(id, time, priority);
+        }
+
+        public void onMigrate(int id, int time, int fromCore, int toCore) {
+            first.onMigrate(id, time, fromCore, toCore);
+        }
+
+        public void onFinish(int time) {
+            first.onFinish(time);
+            for (SimulationListener p : probes) p.onFinish(time);
+        }
+    }
+}
+
+// =====================================================
+// SchedulerMetrics (the MBean: JVM-wide totals for one scheduler class)
+// =====================================================
+class SchedulerMetrics implements SchedulerMetricsMBean {
+    final LongAdder runs = new LongAdder();
+    final LongAdder activeRuns = new LongAdder();
+    final LongAdder dispatches = new LongAdder();
+    final LongAdder preemptions = new LongAdder();
+    final LongAdder completions = new LongAdder();
+    final LongAdder contextSwitches = new LongAdder();
+    final LongAdder contextSwitchTime = new LongAdder();
+    final LongAdder busyTime = new LongAdder();
+    final LongAdder idleTime = new LongAdder();
+    final LongAdder simulatedTime = new LongAdder();
+    final LongAdder readyQueueDepth = new LongAdder();
+    final LongAccumulator maxReadyQueueDepth = new LongAccumulator(Math::max, 0);
+    final LongAdder agingAdjustments = new LongAdder();
+    final LongAdder quantumAdjustments = new LongAdder();
+
+    public long getRuns() { return runs.sum(); }
+    public long getActiveRuns() { return activeRuns.sum(); }
+    public long getDispatches() { return dispatches.sum(); }
+    public long getPreemptions() { return preemptions.sum(); }
+    public long getCompletions() { return completions.sum(); }
+    public long getContextSwitches() { return contextSwitches.sum(); }
+    public long getContextSwitchTime() { return contextSwitchTime.sum(); }
+    public long getBusyTime() { return busyTime.sum(); }
+    public long getIdleTime() { return idleTime.sum(); }
+    public long getSimulatedTime() { return simulatedTime.sum(); }
+    public long getReadyQueueDepth() { return readyQueueDepth.sum(); }
+    public long getMaxReadyQueueDepth() { return maxReadyQueueDepth.get(); }
+    public long getAgingAdjustments() { return agingAdjustments.sum(); }
+    public long getQuantumAdjustments() { return quantumAdjustments.sum(); }
+
+    public void reset() {
+        for (LongAdder total : new LongAdder[] {runs, dispatches, preemptions, completions, contextSwitches,
+                contextSwitchTime, busyTime, idleTime, simulatedTime, agingAdjustments, quantumAdjustments})
+            total.reset();
+        maxReadyQueueDepth.reset();
+    }
+}
+
+// =====================================================
+// MetricsListener (one run's counters, published to a SchedulerMetrics)
+// =====================================================
+// Counts locally and adds the deltas to the shared totals every
+// PUBLISH_EVERY events and at the end, so concurrent runs rarely touch the
+// same cache lines. Ready processes are those that have arrived and are
+// neither running nor done, worked out from the arrival order as event times
+// advance. Processes with no burst are never counted as ready: some engines
+// complete them up front, out of time order.
+class MetricsListener implements SimulationListener {
+    static final int PUBLISH_EVERY = 4096;
+
+    private final SchedulerMetrics target;
+    private Workload w;
+    private int[] order;
+    private int nextArrival;
+    private int[] runningSince; // -1: not running
+    private IndexedMinHeap io;  // ids in I/O, keyed on when they are ready again
+
+    private int ready;
+    private int running;
+    private int maxReady;
+    private int last;           // time of the last event
+    private int switchEnd;      // end of the latest context switch
+    private boolean dispatched;
+    private int events;
+
+    // not yet published
+    private long dispatches, preemptions, completions, contextSwitches, contextSwitchTime;
+    private long busyTime, idleTime, agingAdjustments, quantumAdjustments;
+    private int publishedReady;
+
+    MetricsListener(SchedulerMetrics target) {
+        this.target = target;
+    }
+
+    @Override
+    public void onStart(Workload workload) {
+        w = workload;
+        order = workload.arrivalOrder();
+        runningSince = new int[workload.size()];
+        Arrays.fill(runningSince, -1);
+        target.activeRuns.increment();
+    }
+
+    @Override
+    public void onDispatch(int id, int time) {
+        advance(time);
+        ready--;
+        running++;
+        runningSince[id] = time;
+        dispatches++;
+        dispatched = true;
+        sample();
+    }
+
+    @Override
+    public void onPreempt(int id, int time) {
+        advance(time);
+        stop(id, time);
+        ready++;
+        preemptions++;
+        sample();
+    }
+
+    // off the CPU but not ready: back in the count once its I/O is done
+    @Override
+    public void onBlock(int id, int time, int device) {
+        advance(time);
+        stop(id, time);
+        sample();
+    }
+
+    @Override
+    public void onIO(int id, int device, int from, int to) {
+        if (io == null) io = new IndexedMinHeap(w.size());
+        io.add(id, IndexedMinHeap.key(to, id));
+    }
+
+    @Override
+    public void onComplete(int id, int time, int waitingTime, int turnaroundTime) {
+        if (runningSince[id] >= 0) {
+            advance(time);
+            stop(id, time);
+        }
+        completions++;
+        sample();
+    }
+
+    @Override
+    public void onContextSwitch(int from, int to) {
+        advance(from);
+        switchEnd = Math.max(switchEnd, to);
+        contextSwitches++;
+        contextSwitchTime += to - from;
+        sample();
+    }
+
+    @Override
+    public void onQuantumChange(int id, int time, int quantum) {
+        // before the first dispatch these are the initial quanta
+        if (dispatched) quantumAdjustments++;
+    }
+
+    @Override
+    public void onAging(int id, int time, int priority) {
+        agingAdjustments++;
+    }
+
+    @Override
+    public void onFinish(int time) {
+        advance(time);
+        publish();
+        target.readyQueueDepth.add(-publishedReady);
+        target.simulatedTime.add(time);
+        target.activeRuns.decrement();
+        target.runs.increment();
+    }
+
+    // admits arrivals and I/O returns up to time and counts the idle time before it
+    private void advance(int time) {
+        while (nextArrival < order.length && w.arrival(order[nextArrival]) <= time) {
+            if (w.burst(order[nextArrival]) > 0) ready++;
+            nextArrival++;
+        }
+        while (io != null && !io.isEmpty() && (int) (io.peekKey() >>> 32) <= time) {
+            io.poll();
+            ready++;
+        }
+        if (running == 0)
+            idleTime += Math.max(0, time - Math.max(last, switchEnd));
+        last = Math.max(last, time);
+    }
+
+    private void stop(int id, int time) {
+        busyTime += time - runningSince[id];
+        runningSince[id] = -1;
+        running--;
+    }
+
+    private void sample() {
+        maxReady = Math.max(maxReady, ready);
+        if (++events == PUBLISH_EVERY) publish();
+    }
+
+    private void publish() {
+        target.dispatches.add(dispatches);
+        target.preemptions.add(preemptions);
+        target.completions.add(completions);
+        target.contextSwitches.add(contextSwitches);
+        target.contextSwitchTime.add(contextSwitchTime);
+        target.busyTime.add(busyTime);
+        target.idleTime.add(idleTime);
+        target.agingAdjustments.add(agingAdjustments);
+        target.quantumAdjustments.add(quantumAdjustments);
+        target.readyQueueDepth.add(ready - publishedReady);
+        target.maxReadyQueueDepth.accumulate(maxReady);
+        dispatches = preemptions = completions = contextSwitches = contextSwitchTime = 0;
+        busyTime = idleTime = agingAdjustments = quantumAdjustments = 0;
+        publishedReady = ready;
+        events = 0;
+    }
+}
+
+// =====================================================
+// JfrListener (Flight Recorder events for dispatch/preempt/complete)
+// =====================================================
+// Instant events stamped with simulated time; the recording's own timestamps
+// show where the wall time went.
+class JfrListener implements SimulationListener {
+    private final String scheduler;
+    private Workload w;
+
+    JfrListener(String scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    // a recording has at least one of the events switched on
+    static boolean recording() {
+        return FlightRecorder.isInitialized()
+                && (new Dispatch().isEnabled() || new Preempt().isEnabled() || new Complete().isEnabled());
+    }
+
+    @Override
+    public void onStart(Workload workload) {
+        w = workload;
+    }
+
+    @Override
+    public void onDispatch(int id, int time) {
+        Dispatch event = new Dispatch();
+        if (!event.isEnabled()) return;
+        event.scheduler = scheduler;
+        event.process = w.name(id);
+        event.time = time;
+        event.commit();
+    }
+
+    @Override
+    public void onPreempt(int id, int time) {
+        Preempt event = new Preempt();
+        if (!event.isEnabled()) return;
+        event.scheduler = scheduler;
+        event.process = w.name(id);
+        event.time = time;
+        event.commit();
+    }
+
+    @Override
+    public void onComplete(int id, int time, int waitingTime, int turnaroundTime) {
+        Complete event = new Complete();
+        if (!event.isEnabled()) return;
+        event.scheduler = scheduler;
+        event.process = w.name(id);
+        event.time = time;
+        event.waitingTime = waitingTime;
+        event.turnaroundTime = turnaroundTime;
+        event.commit();
+    }
+
+    @Name("org.example.Dispatch")
+    @Label("Dispatch")
+    @Description("A process starts running")
+    @Category("Scheduler")
+    @Enabled(false)
+    @StackTrace(false)
+    static class Dispatch extends Event {
+        @Label("Scheduler") String scheduler;
+        @Label("Process") String process;
+        @Label("Simulated Time") int time;
+    }
+
+    @Name("org.example.Preempt")
+    @Label("Preempt")
+    @Description("A process stops running without finishing")
+    @Category("Scheduler")
+    @Enabled(false)
+    @StackTrace(false)
+    static class Preempt extends Event {
+        @Label("Scheduler") String scheduler;
+        @Label("Process") String process;
+        @Label("Simulated Time") int time;
+    }
+
+    @Name("org.example.Complete")
+    @Label("Complete")
+    @Description("A process finishes")
+    @Category("Scheduler")
+    @Enabled(false)
+    @StackTrace(false)
+    static class Complete extends Event {
+        @Label("Scheduler") String scheduler;
+        @Label("Process") String process;
+        @Label("Simulated Time") int time;
+        @Label("Waiting Time") int waitingTime;
+        @Label("Turnaround Time") int turnaroundTime;
+    }
+}
@@ -0,0 +1,63 @@
+package org.example;
+
+// =====================================================
+// Growable FIFO ring buffer of ints (no boxing)
+// =====================================================
+class IntQueue {
+    private int[] items;
+    private int head;
+    private int size;
+
+    public IntQueue(int capacity) {
+        items = new int[Math.max(capacity, 4)];
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void add(int value) {
+        if (size == items.length) grow();
+        items[(head + size) % items.length] = value;
+        size++;
+    }
+
+    public int peek() {
+        return items[head];
+    }
+
+    public int poll() {
+        int value = items[head];
+        head = (head + 1) % items.length;
+        size--;
+        return value;
+    }
+
+    public void clear() {
+        head = 0;
+        size = 0;
+    }
+
+    // i-th value from the head, in poll order
+    public int get(int i) {
+        return items[(head + i) % items.length];
+    }
+
+    // removes the most recently added value
+    public int pollLast() {
+        size--;
+        return items[(head + size) % items.length];
+    }
+
+    private void grow() {
+        int[] bigger = new int[items.length * 2];
+        for (int i = 0; i < size; i++)
+            bigger[i] = items[(head + i) % items.length];
+        items = bigger;
+        head = 0;
+    }
+}
@@ -0,0 +1,141 @@
+package org.example;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+// =====================================================
+// LatencyHistogram (log-bucketed, HDR style)
+// =====================================================
+// Values below 128 get a bucket each; above that every power of two is split
+// into 64 buckets, so a reported percentile is at most 1/64 (~1.6%) above the
+// true value. Recording is one array increment, memory is a few KB whatever
+// the count, and two histograms merge by adding their buckets, so runs done
+// on different threads can be combined afterwards.
+class LatencyHistogram {
+    static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private static final int SUB_BUCKET_BITS = 7;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    private long[] counts = new long[SUB_BUCKETS];
+    private long count;
+    private long total;
+    private long min = Long.MAX_VALUE;
+    private long max;
+
+    public void record(long value) {
+        if (value < 0) throw new IllegalArgumentException("Negative latency: " + value);
+        int index = index(value);
+        if (index >= counts.length) counts = Arrays.copyOf(counts, Math.max(index + 1, counts.length * 2));
+        counts[index]++;
+        count++;
+        total += value;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    public void merge(LatencyHistogram other) {
+        if (other.counts.length > counts.length) counts = Arrays.copyOf(counts, other.counts.length);
+        for (int i = 0; i < other.counts.length; i++)
+            counts[i] += other.counts[i];
+        count += other.count;
+        total += other.total;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public long min() {
+        return count == 0 ? 0 : min;
+    }
+
+    public long max() {
+        return max;
+    }
+
+    public double mean() {
+        return count == 0 ? 0 : (double) total / count;
+    }
+
+    // smallest recorded value v such that at least percentile% of the values are <= v
+    // (to bucket precision, never above max)
+    public long valueAtPercentile(double percentile) {
+        if (count == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) return Math.min(highestInBucket(i), max);
+        }
+        return max;
+    }
+
+    // buckets up to the last non-empty one
+    void save(DataOutput out) throws IOException {
+        int used = counts.length;
+        while (used > 0 && counts[used - 1] == 0) used--;
+        out.writeInt(used);
+        for (int i = 0; i < used; i++)
+            out.writeLong(counts[i]);
+        out.writeLong(count);
+        out.writeLong(total);
+        out.writeLong(min);
+        out.writeLong(max);
+    }
+
+    void restore(DataInput in) throws IOException {
+        int used = in.readInt();
+        counts = new long[Math.max(SUB_BUCKETS, used)];
+        for (int i = 0; i < used; i++)
+            counts[i] = in.readLong();
+        count = in.readLong();
+        total = in.readLong();
+        min = in.readLong();
+        max = in.readLong();
+    }
+
+    // "p50=3 p90=12 p99=40 p99.9=41 max=41"
+    @Override
+    public String toString() {
+        StringBuilder out = new StringBuilder();
+        for (double p : PERCENTILES)
+            out.append(label(p)).append('=').append(valueAtPercentile(p)).append(' ');
+        return out.append("max=").append(max).toString();
+    }
+
+    // CSV columns for one histogram, e.g. prefix "waiting" gives waitingP50,...,waitingMax
+    static String csvHeader(String prefix) {
+        StringBuilder out = new StringBuilder();
+        for (double p : PERCENTILES)
+            out.append(prefix).append(Character.toUpperCase(label(p).charAt(0))).append(label(p).substring(1)).append(',');
+        return out.append(prefix).append("Max").toString();
+    }
+
+    String toCsv() {
+        StringBuilder out = new StringBuilder();
+        for (double p : PERCENTILES)
+            out.append(valueAtPercentile(p)).append(',');
+        return out.append(max).toString();
+    }
+
+    private static String label(double percentile) {
+        return percentile == Math.rint(percentile) ? "p" + (long) percentile : "p" + percentile;
+    }
+
+    private static int index(long value) {
+        if (value < SUB_BUCKETS) return (int) value;
+        int shift = 64 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return (shift << (SUB_BUCKET_BITS - 1)) + (int) (value >>> shift);
+    }
+
+    private static long highestInBucket(int index) {
+        if (index < SUB_BUCKETS) return index;
+        int shift = (index >> (SUB_BUCKET_BITS - 1)) - 1;
+        long mantissa = index - ((long) shift << (SUB_BUCKET_BITS - 1));
+        return ((mantissa + 1) << shift) - 1;
+    }
+}
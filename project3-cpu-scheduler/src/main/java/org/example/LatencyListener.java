@@ -0,0 +1,82 @@
+package org.example;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.BitSet;
+
+// =====================================================
+// LatencyListener (waiting, turnaround and response time histograms)
+// =====================================================
+// Filled in as the run goes. Response time is first dispatch minus arrival;
+// the only per-process state is one bit saying whether a process has been
+// dispatched yet, cleared again on completion so a live feed may reuse ids.
+// A process that completes without a dispatch (zero burst) responds when it
+// completes.
+class LatencyListener implements SimulationListener, Snapshot {
+    final LatencyHistogram waiting = new LatencyHistogram();
+    final LatencyHistogram turnaround = new LatencyHistogram();
+    final LatencyHistogram response = new LatencyHistogram();
+
+    static final String CSV_HEADER = LatencyHistogram.csvHeader("waiting") + ","
+            + LatencyHistogram.csvHeader("turnaround") + "," + LatencyHistogram.csvHeader("response");
+
+    private Workload workload;
+    private BitSet responded;
+
+    @Override
+    public void onStart(Workload workload) {
+        this.workload = workload;
+        this.responded = new BitSet(workload.size());
+    }
+
+    @Override
+    public void onDispatch(int id, int time) {
+        respond(id, time);
+    }
+
+    @Override
+    public void onComplete(int id, int time, int waitingTime, int turnaroundTime) {
+        respond(id, time);
+        responded.clear(id);
+        waiting.record(waitingTime);
+        turnaround.record(turnaroundTime);
+    }
+
+    private void respond(int id, int time) {
+        if (responded.get(id)) return;
+        responded.set(id);
+        response.record(time - workload.arrival(id));
+    }
+
+    // the histograms, and which live processes have already responded
+    @Override
+    public void save(DataOutput out) throws IOException {
+        waiting.save(out);
+        turnaround.save(out);
+        response.save(out);
+        out.writeInt(responded.cardinality());
+        for (int id = responded.nextSetBit(0); id >= 0; id = responded.nextSetBit(id + 1))
+            out.writeInt(id);
+    }
+
+    @Override
+    public void restore(DataInput in) throws IOException {
+        waiting.restore(in);
+        turnaround.restore(in);
+        response.restore(in);
+        responded.clear();
+        for (int n = in.readInt(); n > 0; n--)
+            responded.set(in.readInt());
+    }
+
+    // adds other's histograms to this one's (e.g. the same scheduler over several files)
+    public void merge(LatencyListener other) {
+        waiting.merge(other.waiting);
+        turnaround.merge(other.turnaround);
+        response.merge(other.response);
+    }
+
+    String toCsv() {
+        return waiting.toCsv() + "," + turnaround.toCsv() + "," + response.toCsv();
+    }
+}
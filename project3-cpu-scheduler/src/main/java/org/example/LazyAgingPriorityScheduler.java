@@ -0,0 +1,250 @@
+package org.example;
+
+// =====================================================
+// Priority Scheduler + Lazy Aging
+// =====================================================
+// Same schedule as PriorityScheduler, with processResults in the same
+// (input) order. Instead of draining and rebuilding the ready queue on
+// every aging pass, each ready process is filed in a calendar index under
+// the time it entered the queue (or was last aged). An aging pass
+// only pops the entries whose next aging step is due, so processes whose
+// aging bucket did not change are never touched. A process at priority 1 can
+// not age any further and waits in AgingGroups instead, which still ends
+// slices where PriorityScheduler's aging passes would.
+class LazyAgingPriorityScheduler implements Scheduler {
+
+    private int contextSwitchTime;
+    private int agingStep;
+    private Workload processes;
+    private int[] remaining;
+    private int[] priority;
+    private int[] arrivalOrder;       // rank -> id, sorted by (arrival, id)
+    private int[] tieRank;            // id -> rank
+    private int[] lastPriorityUpdate;
+    private int dispatches;
+    private int activeProcess;
+    private int systemClock;
+    private int nextArrival;
+    private int finished;
+    private IndexedMinHeap readyList;  // keyed on (priority, tieRank)
+    private IndexedMinHeap agingIndex; // keyed on lastPriorityUpdate
+    private AgingGroups settled;       // ready processes at priority 1
+
+    // Constructor used by simulate() method
+    public LazyAgingPriorityScheduler(int contextSwitchTime, int agingStep) {
+        this.contextSwitchTime = contextSwitchTime;
+        this.agingStep = agingStep;
+    }
+
+    // Constructor used when processes are passed directly
+    public LazyAgingPriorityScheduler(int contextSwitchTime, int agingStep, Workload processes) {
+        this.contextSwitchTime = contextSwitchTime;
+        this.agingStep = agingStep;
+        this.processes = processes;
+        this.activeProcess = -1; // no process running initially
+        this.systemClock = 0;
+
+        int n = processes.size();
+        this.readyList = new IndexedMinHeap(n);
+        this.agingIndex = new IndexedMinHeap(n);
+        this.settled = new AgingGroups(n, agingStep);
+        this.lastPriorityUpdate = new int[n];
+
+        // equal priorities are broken by arrival time, then by original index
+        this.arrivalOrder = processes.arrivalOrder();
+        this.tieRank = new int[n];
+        for (int r = 0; r < n; r++)
+            tieRank[arrivalOrder[r]] = r;
+
+        this.remaining = new int[n];
+        this.priority = new int[n];
+        for (int i = 0; i < n; i++) {
+            remaining[i] = processes.burst(i);
+            priority[i] = processes.priority(i);
+        }
+    }
+
+    private long rank(int i) {
+        return IndexedMinHeap.key(priority[i], tieRank[i]);
+    }
+
+    private void enqueue(int i) {
+        readyList.add(i, rank(i));
+        if (priority[i] != 1)
+            agingIndex.add(i, IndexedMinHeap.key(lastPriorityUpdate[i], i));
+        else
+            settled.add(i, lastPriorityUpdate[i]);
+    }
+
+    private int dequeue() {
+        int i = readyList.poll();
+        if (agingIndex.contains(i)) {
+            agingIndex.remove(i);
+        } else {
+            lastPriorityUpdate[i] = settled.timeOf(i);
+            settled.remove(i);
+        }
+        return i;
+    }
+
+    private void admitArrivals() {
+        while (nextArrival < arrivalOrder.length
+                && processes.arrival(arrivalOrder[nextArrival]) <= systemClock) {
+            int i = arrivalOrder[nextArrival++];
+            if (remaining[i] > 0) {
+                lastPriorityUpdate[i] = systemClock;
+                enqueue(i);
+            }
+        }
+    }
+
+    private void applyAging(SimulationListener listener) {
+        // only processes that waited at least one full agingStep since their last update
+        while (!agingIndex.isEmpty()
+                && lastPriorityUpdate[agingIndex.peek()] <= systemClock - agingStep) {
+            int i = agingIndex.poll();
+
+            int decrement = (systemClock - lastPriorityUpdate[i]) / agingStep;
+            int updatedPriority = priority[i] - decrement;
+            if (updatedPriority < 1) {
+                updatedPriority = 1;
+            }
+            priority[i] = updatedPriority;
+            lastPriorityUpdate[i] = systemClock;
+            listener.onAging(i, systemClock, updatedPriority);
+
+            readyList.remove(i);
+            enqueue(i);
+        }
+        settled.age(systemClock);
+    }
+
+    public void execute(SimulationListener listener) {
+        int n = processes.size();
+
+        // nothing to run: done on arrival
+        for (int i = 0; i < n; i++) {
+            if (remaining[i] <= 0) {
+                listener.onComplete(i, processes.arrival(i), 0, 0);
+                finished++;
+            }
+        }
+
+        while (finished < n) {
+
+            // Add newly arrived processes
+            admitArrivals();
+
+            // If CPU is idle and no ready processes, jump to the next arrival
+            if (activeProcess < 0 && readyList.isEmpty()) {
+                systemClock = processes.arrival(arrivalOrder[nextArrival]);
+                continue;
+            }
+
+            boolean rescheduleRequired = activeProcess < 0
+                    || (!readyList.isEmpty() && readyList.peekKey() < rank(activeProcess));
+
+            if (rescheduleRequired) {
+
+                // Return currently running process to ready list
+                if (activeProcess >= 0) {
+                    listener.onPreempt(activeProcess, systemClock);
+                    lastPriorityUpdate[activeProcess] = systemClock;
+                    enqueue(activeProcess);
+                }
+
+                // Select next process to run
+                activeProcess = dequeue();
+
+                // Apply context switch overhead (except first run)
+                if (dispatches > 0) {
+                    listener.onContextSwitch(systemClock, systemClock + contextSwitchTime);
+                    systemClock += contextSwitchTime;
+                    admitArrivals();
+                }
+                listener.onDispatch(activeProcess, systemClock);
+                dispatches++;
+
+                // Apply aging after context switch
+                if (!readyList.isEmpty()) {
+                    applyAging(listener);
+
+                    // Verify selected process is still optimal; like PriorityScheduler,
+                    // the displaced process keeps its previous aging timestamp
+                    if (readyList.peekKey() < rank(activeProcess)) {
+                        listener.onPreempt(activeProcess, systemClock);
+                        enqueue(activeProcess);
+                        activeProcess = dequeue();
+
+                        listener.onContextSwitch(systemClock, systemClock + contextSwitchTime);
+                        systemClock += contextSwitchTime;
+                        listener.onDispatch(activeProcess, systemClock);
+                        dispatches++;
+                        admitArrivals();
+
+                        if (!readyList.isEmpty()) {
+                            applyAging(listener);
+                        }
+                    }
+                }
+            }
+
+            // Execute the active process. Every ready process was aged less than
+            // one agingStep ago, so the earliest timestamp gives the next aging event.
+            int active = activeProcess;
+
+            int nextAgingEvent = agingIndex.isEmpty() ? Integer.MAX_VALUE
+                    : lastPriorityUpdate[agingIndex.peek()] + agingStep;
+            nextAgingEvent = Math.min(nextAgingEvent, settled.nextDue());
+            int nextArrivalTime = nextArrival < n
+                    ? processes.arrival(arrivalOrder[nextArrival]) : Integer.MAX_VALUE;
+
+            int executionSlice = Math.min(
+                    remaining[active],
+                    Math.min(nextAgingEvent - systemClock, nextArrivalTime - systemClock)
+            );
+
+            if (executionSlice <= 0) executionSlice = 1;
+
+            remaining[active] -= executionSlice;
+            systemClock += executionSlice;
+
+            // Handle arrivals during execution
+            admitArrivals();
+
+            if (!readyList.isEmpty()) {
+                applyAging(listener);
+            }
+
+            if (remaining[active] == 0) {
+                int turnaroundTime = systemClock - processes.arrival(active);
+                int waitingTime = turnaroundTime - processes.burst(active);
+                listener.onComplete(active, systemClock, waitingTime, turnaroundTime);
+                activeProcess = -1;
+                finished++;
+            }
+        }
+
+        listener.onFinish(systemClock);
+    }
+
+    // processResults in input order, like PriorityScheduler
+    @Override
+    public SimulationResult simulate(Workload workload) {
+        SimulationResult result = new SimulationResult(workload::name);
+        result.inputOrder = true;
+        run(workload, result);
+        return result;
+    }
+
+    @Override
+    public void run(Workload table, SimulationListener listener) {
+        listener = Instrumentation.attach(this, listener);
+        listener.onStart(table);
+
+        LazyAgingPriorityScheduler scheduler =
+                new LazyAgingPriorityScheduler(this.contextSwitchTime, this.agingStep, table);
+
+        scheduler.execute(listener);
+    }
+}
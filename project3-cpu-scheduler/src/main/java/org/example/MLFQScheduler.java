@@ -0,0 +1,221 @@
+package org.example;
+import java.util.Arrays;
+import java.util.List;
+
+// =====================================================
+// MLFQ Scheduler (multilevel feedback queue)
+// =====================================================
+// quanta.length levels, 0 the highest. Arrivals enter level 0; a process that
+// uses up its level's quantum (over however many turns) drops one level, and
+// every boostInterval time units every process returns to level 0 with a
+// fresh quantum. The highest non-empty level runs, round robin within it; an
+// arrival preempts a process running below level 0. A bitmap of non-empty
+// levels makes every pick one numberOfTrailingZeros, and a boost costs the
+// same however many processes wait. Context switches are paid as in
+// RoundRobinScheduler, so with one level and no boost the schedule is
+// exactly RR's.
+class MLFQScheduler implements Scheduler {
+    static final int MAX_LEVELS = 64;
+
+    final int[] quanta;
+    final int boostInterval; // 0: never
+    final int contextSwitch;
+
+    public MLFQScheduler(int[] quanta, int boostInterval, int contextSwitch) {
+        if (quanta.length < 1 || quanta.length > MAX_LEVELS)
+            throw new IllegalArgumentException("MLFQ needs 1 to " + MAX_LEVELS + " levels, got " + quanta.length);
+        for (int q : quanta)
+            if (q < 1) throw new IllegalArgumentException("MLFQ quanta must be at least 1: " + Arrays.toString(quanta));
+        if (boostInterval < 0) throw new IllegalArgumentException("boostInterval must not be negative");
+        this.quanta = quanta.clone();
+        this.boostInterval = boostInterval;
+        this.contextSwitch = contextSwitch;
+    }
+
+    // a scenario's settings; without mlfqQuanta, three levels of rrQuantum, 2x and 4x,
+    // and without mlfqBoostInterval, a boost every four of the longest quanta
+    static MLFQScheduler of(int[] quanta, int boostInterval, int rrQuantum, int contextSwitch) {
+        if (quanta == null) {
+            int q = Math.max(1, rrQuantum);
+            quanta = new int[] {q, 2 * q, 4 * q};
+        }
+        if (boostInterval < 0) boostInterval = 4 * quanta[quanta.length - 1];
+        return new MLFQScheduler(quanta, boostInterval, contextSwitch);
+    }
+
+    static int[] quanta(List<Integer> values) {
+        return values == null ? null : values.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    // every parameter run() reads, for ResultCache keys
+    String settings() {
+        return "mlfqQuanta=" + Arrays.toString(quanta) + " mlfqBoostInterval=" + boostInterval
+                + " contextSwitch=" + contextSwitch;
+    }
+
+    @Override
+    public void run(Workload w, SimulationListener listener) {
+        listener = Instrumentation.attach(this, listener);
+        listener.onStart(w);
+
+        int n = w.size();
+        int[] order = w.arrivalOrder();
+        int[] remaining = new int[n];
+        int[] level = new int[n];
+        int[] used = new int[n]; // of the current level's quantum
+        for (int i = 0; i < n; i++)
+            remaining[i] = w.burst(i);
+
+        Levels ready = new Levels(quanta.length, n);
+        int time = 0;
+        int index = 0;
+        int completed = 0;
+        int running = -1;
+        int nextBoost = boostInterval > 0 ? boostInterval : Integer.MAX_VALUE;
+
+        while (completed < n) {
+            // Add newly arrived processes at the top level
+            while (index < n && w.arrival(order[index]) <= time)
+                ready.add(order[index++], 0);
+
+            if (time >= nextBoost) {
+                ready.boost();
+                if (running >= 0) level[running] = used[running] = 0;
+                nextBoost = nextBoost(time);
+            }
+
+            if (running < 0) {
+                // CPU idle: jump to the next arrival
+                if (ready.isEmpty()) {
+                    time = w.arrival(order[index]);
+                    continue;
+                }
+                running = ready.poll(level, used);
+                listener.onDispatch(running, time);
+            }
+
+            // run to the end of the quantum, or until an arrival outranks it or the next boost
+            int p = running;
+            int end = time + Math.min(remaining[p], quanta[level[p]] - used[p]);
+            if (level[p] > 0 && index < n) end = Math.min(end, w.arrival(order[index]));
+            end = Math.min(end, nextBoost);
+            remaining[p] -= end - time;
+            used[p] += end - time;
+            time = end;
+
+            if (remaining[p] == 0) {
+                int turnaroundTime = time - w.arrival(p);
+                int waitingTime = turnaroundTime - w.burst(p);
+                listener.onComplete(p, time, waitingTime, turnaroundTime);
+                completed++;
+                running = -1;
+
+                while (index < n && w.arrival(order[index]) <= time)
+                    ready.add(order[index++], 0);
+                if (!ready.isEmpty()) {
+                    listener.onContextSwitch(time, time + contextSwitch);
+                    time += contextSwitch;
+                }
+                continue;
+            }
+
+            boolean exhausted = used[p] == quanta[level[p]];
+            if (exhausted) {
+                level[p] = Math.min(level[p] + 1, quanta.length - 1);
+                used[p] = 0;
+            }
+            while (index < n && w.arrival(order[index]) <= time)
+                ready.add(order[index++], 0);
+            if (time >= nextBoost) {
+                ready.boost();
+                level[p] = used[p] = 0;
+                nextBoost = nextBoost(time);
+            }
+
+            // a cut short slice carries on unless something now outranks it
+            if (exhausted || ready.above(level[p])) {
+                listener.onPreempt(p, time);
+                ready.add(p, level[p]);
+                running = -1;
+                listener.onContextSwitch(time, time + contextSwitch);
+                time += contextSwitch;
+            }
+        }
+
+        listener.onFinish(time);
+    }
+
+    // the first multiple of boostInterval after time; past the int range it never comes
+    private int nextBoost(int time) {
+        return (int) Math.min(((long) time / boostInterval + 1) * boostInterval, Integer.MAX_VALUE);
+    }
+
+    // =====================================================
+    // Levels (one FIFO per level + bitmap of the non-empty ones)
+    // =====================================================
+    // The FIFOs are linked through one next[] array (a process waits in at
+    // most one), so a boost splices them onto level 0 in O(levels) however
+    // many processes wait. Their level and used quantum are reset when they
+    // are next polled: stamp[id] records the boost they were filed under.
+    private static class Levels {
+        private final int[] head;
+        private final int[] tail;
+        private final int[] next;
+        private final int[] stamp;
+        private int boosts;
+        private long nonEmpty; // bit l: level l has a process
+
+        Levels(int count, int capacity) {
+            head = new int[count];
+            tail = new int[count];
+            Arrays.fill(head, -1);
+            Arrays.fill(tail, -1);
+            next = new int[capacity];
+            stamp = new int[capacity];
+        }
+
+        boolean isEmpty() {
+            return nonEmpty == 0;
+        }
+
+        void add(int id, int level) {
+            next[id] = -1;
+            stamp[id] = boosts;
+            if (tail[level] < 0) head[level] = id;
+            else next[tail[level]] = id;
+            tail[level] = id;
+            nonEmpty |= 1L << level;
+        }
+
+        // the head of the highest non-empty level, moved to level 0 if a boost came since it was filed
+        int poll(int[] level, int[] used) {
+            int l = Long.numberOfTrailingZeros(nonEmpty);
+            int id = head[l];
+            head[l] = next[id];
+            if (head[l] < 0) {
+                tail[l] = -1;
+                nonEmpty &= ~(1L << l);
+            }
+            if (stamp[id] != boosts) level[id] = used[id] = 0;
+            return id;
+        }
+
+        // some process waits at a level higher than level
+        boolean above(int level) {
+            return (nonEmpty & ((1L << level) - 1)) != 0;
+        }
+
+        // every waiting process to level 0, in level order, with a fresh quantum
+        void boost() {
+            boosts++;
+            for (long rest = nonEmpty & ~1L; rest != 0; rest &= rest - 1) {
+                int l = Long.numberOfTrailingZeros(rest);
+                if (tail[0] < 0) head[0] = head[l];
+                else next[tail[0]] = head[l];
+                tail[0] = tail[l];
+                head[l] = tail[l] = -1;
+            }
+            if (nonEmpty != 0) nonEmpty = 1;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package org.example;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// =====================================================
+// MappedTrace (Workload over a memory-mapped trace file)
+// =====================================================
+// Reads straight from the page cache: records and names are decoded on
+// access and nothing but the mappings lives on the heap. Mappings are split
+// into chunks because a single MappedByteBuffer is limited to 2 GB.
+class MappedTrace implements Workload {
+
+    private static final int RECORD_CHUNK_SHIFT = 25; // 32M records (768 MB) per mapping
+    private static final int STRING_CHUNK_SHIFT = 30; // 1 GB per mapping
+
+    public final int contextSwitch;
+    public final int rrQuantum;
+    public final int agingInterval;
+
+    private final int count;
+    private final long stringBytes;
+    private final MappedByteBuffer[] records;
+    private final MappedByteBuffer[] strings;
+
+    private MappedTrace(FileChannel channel) throws IOException {
+        long fileSize = channel.size();
+        if (fileSize < TraceFormat.HEADER_BYTES)
+            throw new IOException("Trace file too short");
+
+        MappedByteBuffer header = map(channel, 0, TraceFormat.HEADER_BYTES);
+        if (header.getInt(0) != TraceFormat.MAGIC)
+            throw new IOException("Not a trace file");
+        if (header.getInt(4) != TraceFormat.VERSION)
+            throw new IOException("Unsupported trace version " + header.getInt(4));
+
+        count = header.getInt(8);
+        contextSwitch = header.getInt(12);
+        rrQuantum = header.getInt(16);
+        agingInterval = header.getInt(20);
+
+        long stringStart = TraceFormat.HEADER_BYTES + (long) count * TraceFormat.RECORD_BYTES;
+        if (stringStart > fileSize)
+            throw new IOException("Trace file truncated");
+        stringBytes = fileSize - stringStart;
+
+        long recordChunk = (long) TraceFormat.RECORD_BYTES << RECORD_CHUNK_SHIFT;
+        records = mapChunks(channel, TraceFormat.HEADER_BYTES, stringStart - TraceFormat.HEADER_BYTES, recordChunk);
+        strings = mapChunks(channel, stringStart, stringBytes, 1L << STRING_CHUNK_SHIFT);
+    }
+
+    public static MappedTrace open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new MappedTrace(channel);
+        }
+    }
+
+    @Override
+    public int size() {
+        return count;
+    }
+
+    @Override
+    public int arrival(int id) {
+        return recordInt(id, 0);
+    }
+
+    @Override
+    public int burst(int id) {
+        return recordInt(id, 4);
+    }
+
+    @Override
+    public int priority(int id) {
+        return recordInt(id, 8);
+    }
+
+    @Override
+    public int quantum(int id) {
+        return recordInt(id, 12);
+    }
+
+    @Override
+    public String name(int id) {
+        long start = nameOffset(id);
+        long end = id + 1 < count ? nameOffset(id + 1) : stringBytes;
+        byte[] bytes = new byte[(int) (end - start)];
+
+        for (int i = 0; i < bytes.length; ) {
+            long pos = start + i;
+            MappedByteBuffer chunk = strings[(int) (pos >>> STRING_CHUNK_SHIFT)];
+            int offset = (int) (pos & ((1L << STRING_CHUNK_SHIFT) - 1));
+            int n = Math.min(bytes.length - i, chunk.limit() - offset);
+            chunk.get(offset, bytes, i, n);
+            i += n;
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private long nameOffset(int id) {
+        MappedByteBuffer chunk = records[id >>> RECORD_CHUNK_SHIFT];
+        return chunk.getLong((id & ((1 << RECORD_CHUNK_SHIFT) - 1)) * TraceFormat.RECORD_BYTES + 16);
+    }
+
+    private int recordInt(int id, int field) {
+        MappedByteBuffer chunk = records[id >>> RECORD_CHUNK_SHIFT];
+        return chunk.getInt((id & ((1 << RECORD_CHUNK_SHIFT) - 1)) * TraceFormat.RECORD_BYTES + field);
+    }
+
+    private static MappedByteBuffer[] mapChunks(FileChannel channel, long start, long length, long chunkSize)
+            throws IOException {
+        int chunks = (int) ((length + chunkSize - 1) / chunkSize);
+        MappedByteBuffer[] result = new MappedByteBuffer[chunks];
+        for (int c = 0; c < chunks; c++) {
+            long offset = c * chunkSize;
+            result[c] = map(channel, start + offset, Math.min(chunkSize, length - offset));
+        }
+        return result;
+    }
+
+    private static MappedByteBuffer map(FileChannel channel, long position, long size) throws IOException {
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        return buffer;
+    }
+}
@@ -0,0 +1,33 @@
+package org.example;
+
+// =====================================================
+// MultiCoreListener (SimulationListener events tagged with a core)
+// =====================================================
+// Dispatch/preempt/complete pairing holds per core. A plain listener handed
+// to MultiCoreScheduler gets the untagged calls, which with more than one
+// core interleave across cores (fine for totals, not for one Timeline).
+interface MultiCoreListener extends SimulationListener {
+
+    default void onDispatch(int core, int id, int time) {
+        onDispatch(id, time);
+    }
+
+    default void onPreempt(int core, int id, int time) {
+        onPreempt(id, time);
+    }
+
+    default void onBlock(int core, int id, int time, int device) {
+        onBlock(id, time, device);
+    }
+
+    default void onComplete(int core, int id, int time, int waitingTime, int turnaroundTime) {
+        onComplete(id, time, waitingTime, turnaroundTime);
+    }
+
+    default void onContextSwitch(int core, int from, int to) {
+        onContextSwitch(from, to);
+    }
+
+    // id leaves fromCore at time and is ready on toCore migrationCost later
+    default void onMigrate(int id, int time, int fromCore, int toCore) {}
+}
@@ -0,0 +1,89 @@
+package org.example;
+import java.io.*;
+import java.util.function.IntFunction;
+
+// =====================================================
+// MultiCoreResult
+// =====================================================
+// A SimulationResult with one timeline per core; timeline (and so
+// executionOrder) is core 0's, so a one-core run reads exactly like a
+// single-core one. Utilization is busy time over the whole run; imbalance is
+// how far the busiest core is above the mean (0 = perfectly even).
+class MultiCoreResult extends SimulationResult implements MultiCoreListener {
+    final Timeline[] coreTimelines;
+    double[] utilization;
+    double imbalance;
+    int migrations;
+    int finishTime;
+
+    MultiCoreResult(IntFunction<String> names, int cores) {
+        super(names);
+        coreTimelines = new Timeline[cores];
+        coreTimelines[0] = timeline;
+        for (int c = 1; c < cores; c++)
+            coreTimelines[c] = new Timeline(names);
+    }
+
+    @Override
+    public void onDispatch(int core, int id, int time) {
+        coreTimelines[core].dispatch(id, time);
+        latency.onDispatch(id, time);
+    }
+
+    @Override
+    public void onPreempt(int core, int id, int time) {
+        coreTimelines[core].runUntil(time);
+    }
+
+    @Override
+    public void onBlock(int core, int id, int time, int device) {
+        onPreempt(core, id, time);
+    }
+
+    @Override
+    public void onComplete(int core, int id, int time, int waitingTime, int turnaroundTime) {
+        complete(coreTimelines[core], id, time, waitingTime, turnaroundTime);
+    }
+
+    @Override
+    public void onMigrate(int id, int time, int fromCore, int toCore) {
+        migrations++;
+    }
+
+    @Override
+    public void save(DataOutput out) throws IOException {
+        super.save(out);
+        for (int c = 1; c < coreTimelines.length; c++)
+            coreTimelines[c].save(out);
+        out.writeInt(migrations);
+    }
+
+    @Override
+    public void restore(DataInput in) throws IOException {
+        super.restore(in);
+        for (int c = 1; c < coreTimelines.length; c++)
+            coreTimelines[c].restore(in);
+        migrations = in.readInt();
+    }
+
+    @Override
+    public void onFinish(int time) {
+        super.onFinish(time);
+
+        finishTime = time;
+        utilization = new double[coreTimelines.length];
+        long[] busy = new long[coreTimelines.length];
+        long totalBusy = 0;
+        long maxBusy = 0;
+        for (int c = 0; c < coreTimelines.length; c++) {
+            Timeline t = coreTimelines[c];
+            for (int i = 0; i < t.size(); i++)
+                busy[c] += t.end(i) - t.start(i);
+            utilization[c] = time == 0 ? 0 : (double) busy[c] / time;
+            totalBusy += busy[c];
+            maxBusy = Math.max(maxBusy, busy[c]);
+        }
+        double meanBusy = (double) totalBusy / coreTimelines.length;
+        imbalance = meanBusy == 0 ? 0 : maxBusy / meanBusy - 1;
+    }
+}
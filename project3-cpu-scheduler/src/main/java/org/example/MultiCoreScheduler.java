@@ -0,0 +1,1006 @@
+package org.example;
+import java.io.*;
+import java.nio.file.Paths;
+
+// =====================================================
+// MultiCoreScheduler (per-core run queues + load balancing)
+// =====================================================
+// N cores, each with its own ready queue and its own copy of a single-core
+// policy: "RR", "SJF" (preemptive) or "Priority" (with aging). A process is
+// placed on a core when it arrives and only changes core through the
+// balancer, spending migrationCost time units in flight. Cores are stepped in
+// global time order and, at equal times, arrivals are delivered before any
+// core decides, which is how the single-core engines admit arrivals; so with
+// one core the schedule is exactly that of RoundRobinScheduler,
+// EventSJFScheduler or LazyAgingPriorityScheduler. AG is not modelled: its
+// quantum rules are written for one shared ready set.
+class MultiCoreScheduler implements Scheduler {
+
+    final String policy;
+    final int cores;
+    int contextSwitch;
+    int rrQuantum;
+    int agingInterval;
+
+    // "none": round-robin placement by arrival, no migration
+    // "push": round-robin placement; every balanceInterval, queued processes move
+    //         from the most to the least loaded core until loads differ by at most one
+    // "steal": round-robin placement; a core with nothing to run takes a queued
+    //          process from the core with the longest queue
+    // "power-of-two": each arrival goes to the less loaded of two random cores
+    public String balancing = "none";
+    public int migrationCost = 0;
+    public int balanceInterval = 10;
+    public long seed = 1;
+
+    public MultiCoreScheduler(String policy, int cores, int contextSwitch, int rrQuantum, int agingInterval) {
+        if (!policy.equals("RR") && !policy.equals("SJF") && !policy.equals("Priority"))
+            throw new IllegalArgumentException("No multi-core model for scheduler: " + policy);
+        if (cores < 1) throw new IllegalArgumentException("cores must be at least 1");
+        this.policy = policy;
+        this.cores = cores;
+        this.contextSwitch = contextSwitch;
+        this.rrQuantum = rrQuantum;
+        this.agingInterval = agingInterval;
+    }
+
+    @Override
+    public void run(Workload workload, SimulationListener listener) {
+        validate();
+        new Machine(workload, tagged(Instrumentation.attach(this, listener)), workload.size()).run();
+    }
+
+    // as run, saving to checkpoint as it goes (and resuming from its file if
+    // there is one); the listener's state is part of every snapshot
+    public void run(Workload workload, SimulationListener listener, Checkpoint checkpoint) {
+        validate();
+        if (!(listener instanceof Snapshot))
+            throw new IllegalArgumentException(listener.getClass().getSimpleName() + " cannot be checkpointed");
+        new Machine(workload, tagged(Instrumentation.attach(this, listener)), workload.size())
+                .run(checkpoint, (Snapshot) listener);
+    }
+
+    static MultiCoreListener tagged(SimulationListener listener) {
+        return listener instanceof MultiCoreListener ? (MultiCoreListener) listener : new Untagged(listener);
+    }
+
+    @Override
+    public MultiCoreResult simulate(Workload workload) {
+        MultiCoreResult result = new MultiCoreResult(workload::name, cores);
+        result.inputOrder = policy.equals("Priority");
+        run(workload, result);
+        return result;
+    }
+
+    public MultiCoreResult simulate(Workload workload, Checkpoint checkpoint) {
+        MultiCoreResult result = new MultiCoreResult(workload::name, cores);
+        result.inputOrder = policy.equals("Priority");
+        run(workload, result, checkpoint);
+        return result;
+    }
+
+    void validate() {
+        switch (balancing) {
+            case "none": case "push": case "steal": case "power-of-two": break;
+            default: throw new IllegalArgumentException("Unknown balancing policy: " + balancing);
+        }
+        if (balanceInterval < 1) throw new IllegalArgumentException("balanceInterval must be at least 1");
+    }
+
+    // =====================================================
+    // Machine (one run: shared per-process state, cores, balancer)
+    // =====================================================
+    // Driven incrementally: submit() queues processes in arrival order and
+    // advance() runs every event before a time limit, so the same engine
+    // serves a whole Workload (run) and a live feed (OnlineScheduler). Ids
+    // index w and the per-process arrays below; a live feed reuses them.
+    // Between two event times the fields below are the whole state, which is
+    // what a Checkpoint saves.
+    class Machine {
+        final Workload w;
+        final MultiCoreListener events;
+        final int[] rank;           // id -> submission sequence, i.e. arrival order
+        final int[] remaining;
+        final int[] priority;       // Priority: current (aged) priority
+        final int[] lastPriorityUpdate;
+        final Core[] core = new Core[cores];
+
+        // submitted, not yet placed on a core
+        private final IntQueue arrivals = new IntQueue(16);
+        private int sequence;
+
+        // migrating ids keyed on (delivery time, sequence)
+        private final IndexedMinHeap inFlight;
+        private final int[] destination;
+        private int migrationSequence;
+
+        private final boolean push = balancing.equals("push");
+        private final boolean steal = balancing.equals("steal");
+        private int nextBalance = Integer.MAX_VALUE;
+
+        int finished;
+        int time;
+
+        // capacity: ids are 0..capacity-1
+        Machine(Workload w, MultiCoreListener events, int capacity) {
+            this.w = w;
+            this.events = events;
+            this.rank = new int[capacity];
+            this.remaining = new int[capacity];
+            this.inFlight = new IndexedMinHeap(push || steal ? capacity : 0);
+            this.destination = new int[push || steal ? capacity : 0];
+
+            if (policy.equals("Priority")) {
+                priority = new int[capacity];
+                lastPriorityUpdate = new int[capacity];
+                IndexedMinHeap[] ready = IndexedMinHeap.sharing(capacity, cores);
+                IndexedMinHeap[] aging = IndexedMinHeap.sharing(capacity, cores);
+                AgingGroups[] settled = AgingGroups.sharing(capacity, cores, agingInterval);
+                for (int c = 0; c < cores; c++)
+                    core[c] = new PriorityCore(c, ready[c], aging[c], settled[c]);
+            } else {
+                priority = null;
+                lastPriorityUpdate = null;
+                IndexedMinHeap[] ready = policy.equals("SJF") ? IndexedMinHeap.sharing(capacity, cores) : null;
+                for (int c = 0; c < cores; c++)
+                    core[c] = policy.equals("SJF") ? new ShortestJobCore(c, ready[c]) : new RoundRobinCore(c);
+            }
+        }
+
+        void run() {
+            run(null, null);
+        }
+
+        // the whole workload, fed one arrival time at a time; with a checkpoint,
+        // saves on its schedule and resumes from its file if there is one
+        void run(Checkpoint checkpoint, Snapshot state) {
+            int[] order = w.arrivalOrder();
+            // like LazyAgingPriorityScheduler, Priority completes empty processes up front
+            boolean skipEmpty = policy.equals("Priority");
+            long fingerprint = checkpoint == null ? 0 : Checkpoint.fingerprint(w);
+            int cursor = 0;
+
+            events.onStart(w);
+            if (checkpoint != null && checkpoint.exists()) {
+                try (DataInputStream in = checkpoint.read()) {
+                    cursor = restore(in, fingerprint);
+                    state.restore(in);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            } else if (skipEmpty) {
+                for (int i = 0; i < w.size(); i++) {
+                    if (w.burst(i) <= 0) {
+                        events.onComplete(0, i, w.arrival(i), 0, 0);
+                        finished++;
+                    }
+                }
+            }
+
+            int steps = checkpoint != null && checkpoint.everyMillis > 0
+                    ? Checkpoint.STEPS_PER_CLOCK_CHECK : Integer.MAX_VALUE;
+            long nextSave = checkpoint != null && checkpoint.everyTime > 0 ? time + checkpoint.everyTime : Long.MAX_VALUE;
+            long nextWallSave = steps < Integer.MAX_VALUE ? System.nanoTime() + checkpoint.everyMillis * 1_000_000 : 0;
+
+            while (true) {
+                // everything arriving at the next arrival time, then every event before the one after
+                if (cursor < order.length) {
+                    int at = w.arrival(order[cursor]);
+                    while (cursor < order.length && w.arrival(order[cursor]) == at) {
+                        int id = order[cursor++];
+                        if (!skipEmpty || w.burst(id) > 0) submit(id);
+                        else wake(at);
+                    }
+                }
+                int limit = cursor < order.length ? w.arrival(order[cursor]) : Integer.MAX_VALUE;
+                if (checkpoint == null) {
+                    advance(limit);
+                } else {
+                    while (true) {
+                        int until = (int) Math.min(limit, nextSave);
+                        boolean reached = advance(until, steps);
+                        boolean timeDue = reached && until == nextSave;
+                        boolean wallDue = steps < Integer.MAX_VALUE && System.nanoTime() - nextWallSave >= 0;
+                        if (timeDue || wallDue) {
+                            save(checkpoint, state, cursor, fingerprint);
+                            nextWallSave = System.nanoTime() + checkpoint.everyMillis * 1_000_000;
+                        }
+                        // the next one after everyTime more of activity, not of idle clock
+                        if (timeDue) nextSave = Math.max(until, nextEvent()) + (long) checkpoint.everyTime;
+                        if (reached && until == limit) break;
+                    }
+                }
+                if (limit == Integer.MAX_VALUE) break;
+            }
+
+            // a finished run's snapshot resumes straight to onFinish
+            if (checkpoint != null) save(checkpoint, state, cursor, fingerprint);
+            events.onFinish(time);
+        }
+
+        // id arrives at w.arrival(id), no earlier than anything submitted before it
+        void submit(int id) {
+            rank[id] = sequence++;
+            remaining[id] = w.burst(id);
+            if (priority != null) priority[id] = w.priority(id);
+            arrivals.add(id);
+        }
+
+        // an arrival at time that is never submitted (an empty Priority process)
+        // still ends the running slices, as it does in the one-core engines;
+        // every event before time must be done
+        void wake(int time) {
+            for (Core c : core)
+                c.wake(time);
+        }
+
+        // processes every event before limit (everything, for Integer.MAX_VALUE)
+        void advance(int limit) {
+            advance(limit, Integer.MAX_VALUE);
+        }
+
+        // as advance(limit), but stops after steps event times; true once nothing before limit is left
+        boolean advance(int limit, int steps) {
+            while (true) {
+                int t = nextEvent();
+                if (t >= limit) return true;
+                if (steps-- == 0) return false;
+                time = t;
+
+                // arrivals and migrations first, then every core due at this time
+                while (!arrivals.isEmpty() && w.arrival(arrivals.peek()) <= time) {
+                    int id = arrivals.poll();
+                    core[place(rank[id])].arrive(id, time);
+                }
+                while (!inFlight.isEmpty() && (int) (inFlight.peekKey() >>> 32) <= time) {
+                    int id = inFlight.poll();
+                    core[destination[id]].inbound--;
+                    core[destination[id]].arrive(id, time);
+                }
+
+                if (time == nextBalance) {
+                    pushMigration(time);
+                    nextBalance = Integer.MAX_VALUE;
+                }
+
+                boolean stepped;
+                do {
+                    stepped = false;
+                    for (Core c : core) {
+                        if (c.next == time) {
+                            c.step(time);
+                            stepped = true;
+                        }
+                    }
+                } while (stepped);
+
+                if (steal) {
+                    for (Core thief : core) {
+                        if (thief.idle() && thief.inbound == 0) {
+                            Core victim = longestQueue();
+                            if (victim.queued() > 0) migrate(victim, thief, time);
+                        }
+                    }
+                }
+
+                // the next push is only worth scheduling while something is waiting
+                if (push && nextBalance == Integer.MAX_VALUE && longestQueue().queued() > 0)
+                    nextBalance = time + balanceInterval;
+            }
+        }
+
+        // time of the earliest pending arrival, migration, balance or core step
+        private int nextEvent() {
+            int t = nextBalance;
+            if (!arrivals.isEmpty()) t = Math.min(t, w.arrival(arrivals.peek()));
+            if (!inFlight.isEmpty()) t = Math.min(t, (int) (inFlight.peekKey() >>> 32));
+            for (Core c : core)
+                t = Math.min(t, c.next);
+            return t;
+        }
+
+        // core for the process with arrival rank r
+        private int place(int r) {
+            if (cores == 1) return 0;
+            if (!balancing.equals("power-of-two")) return Integer.remainderUnsigned(r, cores);
+
+            long h = mix(seed + r);
+            int a = (int) Long.remainderUnsigned(h, cores);
+            int b = (int) Long.remainderUnsigned(mix(h), cores - 1);
+            if (b >= a) b++;
+            return core[b].load() < core[a].load() ? b : a;
+        }
+
+        private void pushMigration(int time) {
+            while (true) {
+                Core from = longestQueue();
+                Core to = core[0];
+                for (Core c : core)
+                    if (c.load() < to.load()) to = c;
+                if (from.queued() == 0 || from.load() - to.load() < 2) return;
+                migrate(from, to, time);
+            }
+        }
+
+        private Core longestQueue() {
+            Core longest = core[0];
+            for (Core c : core)
+                if (c.queued() > longest.queued()) longest = c;
+            return longest;
+        }
+
+        private void migrate(Core from, Core to, int time) {
+            int id = from.steal();
+            if (id < 0) return;
+            events.onMigrate(id, time, from.index, to.index);
+            to.inbound++;
+            destination[id] = to.index;
+            inFlight.add(id, IndexedMinHeap.key(time + migrationCost, migrationSequence++));
+        }
+
+        // =====================================================
+        // Snapshot (engine state between two event times)
+        // =====================================================
+        private String configuration() {
+            return policy + " cores=" + cores + " contextSwitch=" + contextSwitch + " rrQuantum=" + rrQuantum
+                    + " agingInterval=" + agingInterval + " balancing=" + balancing + " migrationCost=" + migrationCost
+                    + " balanceInterval=" + balanceInterval + " seed=" + seed;
+        }
+
+        // cursor: how much of the arrival order has been submitted
+        private void save(Checkpoint checkpoint, Snapshot state, int cursor, long fingerprint) {
+            try {
+                checkpoint.write(out -> {
+                    out.writeUTF(configuration());
+                    out.writeLong(fingerprint);
+                    out.writeInt(cursor);
+                    out.writeInt(time);
+                    out.writeInt(finished);
+                    out.writeInt(sequence);
+                    out.writeInt(migrationSequence);
+                    out.writeInt(nextBalance);
+
+                    out.writeInt(arrivals.size());
+                    for (int i = 0; i < arrivals.size(); i++)
+                        saveProcess(out, arrivals.get(i));
+                    out.writeInt(inFlight.size());
+                    for (int i = 0; i < inFlight.size(); i++) {
+                        int id = inFlight.at(i);
+                        saveProcess(out, id);
+                        out.writeLong(inFlight.keyOf(id));
+                        out.writeInt(destination[id]);
+                    }
+                    for (Core c : core)
+                        c.save(out);
+
+                    state.save(out);
+                });
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        // the listener's state follows in the same stream; returns the cursor
+        private int restore(DataInput in, long fingerprint) throws IOException {
+            String saved = in.readUTF();
+            if (!saved.equals(configuration()))
+                throw new IllegalArgumentException("Checkpoint is for " + saved + ", not " + configuration());
+            if (in.readLong() != fingerprint)
+                throw new IllegalArgumentException("Checkpoint was taken on a different workload");
+            int cursor = in.readInt();
+            time = in.readInt();
+            finished = in.readInt();
+            sequence = in.readInt();
+            migrationSequence = in.readInt();
+            nextBalance = in.readInt();
+
+            for (int n = in.readInt(); n > 0; n--)
+                arrivals.add(restoreProcess(in));
+            for (int n = in.readInt(); n > 0; n--) {
+                int id = restoreProcess(in);
+                inFlight.add(id, in.readLong());
+                destination[id] = in.readInt();
+            }
+            for (Core c : core)
+                c.restore(in);
+            return cursor;
+        }
+
+        // a live process: its id and everything the engine keeps for it
+        private void saveProcess(DataOutput out, int id) throws IOException {
+            out.writeInt(id);
+            out.writeInt(rank[id]);
+            out.writeInt(remaining[id]);
+            if (priority != null) {
+                out.writeInt(priority[id]);
+                out.writeInt(lastPriorityUpdate[id]);
+            }
+        }
+
+        private int restoreProcess(DataInput in) throws IOException {
+            int id = in.readInt();
+            rank[id] = in.readInt();
+            remaining[id] = in.readInt();
+            if (priority != null) {
+                priority[id] = in.readInt();
+                lastPriorityUpdate[id] = in.readInt();
+            }
+            return id;
+        }
+
+        // ids with their state and heap keys, in slot order
+        private void saveHeap(DataOutput out, IndexedMinHeap heap, boolean withProcesses) throws IOException {
+            out.writeInt(heap.size());
+            for (int i = 0; i < heap.size(); i++) {
+                int id = heap.at(i);
+                if (withProcesses) saveProcess(out, id);
+                else out.writeInt(id);
+                out.writeLong(heap.keyOf(id));
+            }
+        }
+
+        private void restoreHeap(DataInput in, IndexedMinHeap heap, boolean withProcesses) throws IOException {
+            for (int n = in.readInt(); n > 0; n--) {
+                int id = withProcesses ? restoreProcess(in) : in.readInt();
+                heap.add(id, in.readLong());
+            }
+        }
+
+        private void saveQueue(DataOutput out, IntQueue queue) throws IOException {
+            out.writeInt(queue.size());
+            for (int i = 0; i < queue.size(); i++)
+                saveProcess(out, queue.get(i));
+        }
+
+        private void restoreQueue(DataInput in, IntQueue queue) throws IOException {
+            for (int n = in.readInt(); n > 0; n--)
+                queue.add(restoreProcess(in));
+        }
+
+        void complete(int c, int id, int time) {
+            int turnaroundTime = time - w.arrival(id);
+            int waitingTime = turnaroundTime - w.burst(id);
+            events.onComplete(c, id, time, waitingTime, turnaroundTime);
+            finished++;
+        }
+
+        // =====================================================
+        // Core (one CPU and its ready queue)
+        // =====================================================
+        private abstract class Core {
+            final int index;
+            int next = Integer.MAX_VALUE; // time of this core's next step, MAX while it has nothing to do
+            int running = -1;             // on the CPU, or being switched in
+            int runFrom;                  // when running started or resumed
+            int inbound;                  // migrations on their way here
+
+            Core(int index) {
+                this.index = index;
+            }
+
+            // id is placed on this core at time
+            abstract void arrive(int id, int time);
+
+            // the core's next step is due at time
+            abstract void step(int time);
+
+            // processes waiting here, not counting the running one
+            abstract int queued();
+
+            // takes one waiting process off this core, -1 if there is none
+            abstract int steal();
+
+            // something arrived at time that never reaches a core
+            void wake(int time) {}
+
+            boolean idle() {
+                return next == Integer.MAX_VALUE;
+            }
+
+            void save(DataOutput out) throws IOException {
+                out.writeInt(next);
+                out.writeInt(running);
+                out.writeInt(runFrom);
+                out.writeInt(inbound);
+                if (running >= 0) saveProcess(out, running);
+            }
+
+            void restore(DataInput in) throws IOException {
+                next = in.readInt();
+                running = in.readInt();
+                runFrom = in.readInt();
+                inbound = in.readInt();
+                if (running >= 0) restoreProcess(in);
+            }
+
+            int load() {
+                return queued() + (running >= 0 ? 1 : 0) + inbound;
+            }
+        }
+
+        // RoundRobinScheduler on one core: a FIFO, a context switch after every
+        // slice that leaves someone waiting
+        private class RoundRobinCore extends Core {
+            private final IntQueue ready = new IntQueue(16);
+
+            RoundRobinCore(int index) {
+                super(index);
+            }
+
+            void arrive(int id, int time) {
+                ready.add(id);
+                if (idle()) next = time;
+            }
+
+            void step(int time) {
+                // end of a slice
+                if (running >= 0) {
+                    int p = running;
+                    remaining[p] -= time - runFrom;
+                    running = -1;
+
+                    if (remaining[p] > 0) {
+                        events.onPreempt(index, p, time);
+                        ready.add(p);
+                    } else {
+                        complete(index, p, time);
+                    }
+
+                    if (!ready.isEmpty()) {
+                        events.onContextSwitch(index, time, time + contextSwitch);
+                        next = time + contextSwitch;
+                    } else {
+                        next = Integer.MAX_VALUE;
+                    }
+                    return;
+                }
+
+                // switch done (or woken by an arrival); the queue may have been stolen meanwhile
+                if (ready.isEmpty()) {
+                    next = Integer.MAX_VALUE;
+                    return;
+                }
+                running = ready.poll();
+                runFrom = time;
+                events.onDispatch(index, running, time);
+                next = time + Math.min(rrQuantum, remaining[running]);
+            }
+
+            int queued() {
+                return ready.size();
+            }
+
+            int steal() {
+                return ready.isEmpty() ? -1 : ready.pollLast();
+            }
+
+            @Override
+            void save(DataOutput out) throws IOException {
+                super.save(out);
+                saveQueue(out, ready);
+            }
+
+            @Override
+            void restore(DataInput in) throws IOException {
+                super.restore(in);
+                restoreQueue(in, ready);
+            }
+        }
+
+        // EventSJFScheduler on one core: a heap on (remaining, arrival rank); an
+        // arrival ends the running slice so it can be compared
+        private class ShortestJobCore extends Core {
+            private static final int COMPLETED = -2;
+
+            private final IndexedMinHeap ready;
+            private int last = -1;              // last dispatched, COMPLETED once it finished
+            private boolean switching;
+            private boolean arrivedWhileSwitching;
+
+            ShortestJobCore(int index, IndexedMinHeap ready) {
+                super(index);
+                this.ready = ready;
+            }
+
+            private long key(int id) {
+                return IndexedMinHeap.key(remaining[id], rank[id]);
+            }
+
+            void arrive(int id, int time) {
+                ready.add(id, key(id));
+                if (switching) arrivedWhileSwitching = true;
+                else if (running >= 0) next = Math.min(next, Math.max(time, runFrom + 1));
+                else next = Math.min(next, time);
+            }
+
+            void step(int time) {
+                // context switch over; anything that arrived during it is only
+                // looked at after one time unit
+                if (switching) {
+                    switching = false;
+                    events.onDispatch(index, running, time);
+                    runFrom = time;
+                    next = time + (arrivedWhileSwitching ? Math.min(remaining[running], 1) : remaining[running]);
+                    return;
+                }
+
+                if (running >= 0) {
+                    remaining[running] -= time - runFrom;
+                    if (remaining[running] == 0) {
+                        complete(index, running, time);
+                        running = -1;
+                        // whoever runs next pays a switch, even if it reuses the finished id
+                        last = COMPLETED;
+                    }
+                }
+
+                if (running < 0 && ready.isEmpty()) {
+                    next = Integer.MAX_VALUE;
+                    return;
+                }
+
+                int shortest = running;
+                if (!ready.isEmpty() && (running < 0 || ready.peekKey() < key(running))) {
+                    if (running >= 0) ready.add(running, key(running));
+                    shortest = ready.poll();
+                }
+
+                if (shortest != last) {
+                    if (last != -1) {
+                        if (running >= 0) events.onPreempt(index, running, time);
+                        events.onContextSwitch(index, time, time + contextSwitch);
+                        running = last = shortest;
+                        switching = true;
+                        arrivedWhileSwitching = false;
+                        next = time + contextSwitch;
+                        return;
+                    }
+                    events.onDispatch(index, shortest, time);
+                }
+
+                running = last = shortest;
+                runFrom = time;
+                next = time + remaining[running];
+            }
+
+            int queued() {
+                return ready.size();
+            }
+
+            int steal() {
+                if (ready.isEmpty()) return -1;
+                int id = ready.last();
+                ready.remove(id);
+                return id;
+            }
+
+            @Override
+            void save(DataOutput out) throws IOException {
+                super.save(out);
+                out.writeInt(last);
+                out.writeBoolean(switching);
+                out.writeBoolean(arrivedWhileSwitching);
+                saveHeap(out, ready, true);
+            }
+
+            @Override
+            void restore(DataInput in) throws IOException {
+                super.restore(in);
+                last = in.readInt();
+                switching = in.readBoolean();
+                arrivedWhileSwitching = in.readBoolean();
+                restoreHeap(in, ready, true);
+            }
+        }
+
+        // LazyAgingPriorityScheduler on one core. Arrivals wait in an inbox until
+        // the engine's next admission point, since admission time is what aging
+        // counts from; a reselection after aging costs a second context switch.
+        // Processes at priority 1 wait in AgingGroups, whose aging times still
+        // end slices.
+        private class PriorityCore extends Core {
+            private static final int IDLE = 0, RUNNING = 1, SWITCHING = 2, RESWITCHING = 3;
+
+            private final IndexedMinHeap ready;  // keyed on (priority, arrival rank)
+            private final IndexedMinHeap aging;  // keyed on lastPriorityUpdate
+            private final AgingGroups settled;   // ready processes at priority 1
+            private final IntQueue inbox = new IntQueue(16);
+            private int phase = IDLE;
+            private int dispatches;
+
+            PriorityCore(int index, IndexedMinHeap ready, IndexedMinHeap aging, AgingGroups settled) {
+                super(index);
+                this.ready = ready;
+                this.aging = aging;
+                this.settled = settled;
+            }
+
+            private long key(int id) {
+                return IndexedMinHeap.key(priority[id], rank[id]);
+            }
+
+            // a process at priority 1 cannot age further and waits in settled instead
+            private void enqueue(int id) {
+                ready.add(id, key(id));
+                if (priority[id] != 1)
+                    aging.add(id, IndexedMinHeap.key(lastPriorityUpdate[id], id));
+                else
+                    settled.add(id, lastPriorityUpdate[id]);
+            }
+
+            private int dequeue() {
+                int id = ready.poll();
+                unfile(id);
+                return id;
+            }
+
+            // id leaves the aging index or its group, with its aging timestamp
+            private void unfile(int id) {
+                if (aging.contains(id)) {
+                    aging.remove(id);
+                } else {
+                    lastPriorityUpdate[id] = settled.timeOf(id);
+                    settled.remove(id);
+                }
+            }
+
+            private void admit(int time) {
+                while (!inbox.isEmpty()) {
+                    int id = inbox.poll();
+                    lastPriorityUpdate[id] = time;
+                    enqueue(id);
+                }
+            }
+
+            private void applyAging(int time) {
+                while (!aging.isEmpty() && lastPriorityUpdate[aging.peek()] <= time - agingInterval) {
+                    int id = aging.poll();
+                    int decrement = (time - lastPriorityUpdate[id]) / agingInterval;
+                    priority[id] = Math.max(1, priority[id] - decrement);
+                    lastPriorityUpdate[id] = time;
+                    events.onAging(id, time, priority[id]);
+                    ready.remove(id);
+                    enqueue(id);
+                }
+                settled.age(time);
+            }
+
+            void arrive(int id, int time) {
+                inbox.add(id);
+                if (phase == RUNNING) next = Math.min(next, Math.max(time, runFrom + 1));
+                else if (phase == IDLE) next = Math.min(next, time);
+            }
+
+            @Override
+            void wake(int time) {
+                if (phase == RUNNING) next = Math.min(next, Math.max(time, runFrom + 1));
+            }
+
+            void step(int time) {
+                switch (phase) {
+                    case RUNNING:
+                        remaining[running] -= time - runFrom;
+                        admit(time);
+                        if (!ready.isEmpty()) applyAging(time);
+                        if (remaining[running] == 0) {
+                            complete(index, running, time);
+                            running = -1;
+                        }
+                        decide(time);
+                        break;
+                    case SWITCHING:
+                        admit(time);
+                        dispatch(time);
+                        break;
+                    case RESWITCHING:
+                        events.onDispatch(index, running, time);
+                        dispatches++;
+                        admit(time);
+                        if (!ready.isEmpty()) applyAging(time);
+                        startSlice(time);
+                        break;
+                    default:
+                        decide(time);
+                }
+            }
+
+            private void decide(int time) {
+                admit(time);
+
+                if (running < 0 && ready.isEmpty()) {
+                    phase = IDLE;
+                    next = Integer.MAX_VALUE;
+                    return;
+                }
+
+                if (running < 0 || (!ready.isEmpty() && ready.peekKey() < key(running))) {
+                    if (running >= 0) {
+                        events.onPreempt(index, running, time);
+                        lastPriorityUpdate[running] = time;
+                        enqueue(running);
+                    }
+                    running = dequeue();
+
+                    // context switch overhead, except for this core's first run
+                    if (dispatches > 0) {
+                        events.onContextSwitch(index, time, time + contextSwitch);
+                        phase = SWITCHING;
+                        next = time + contextSwitch;
+                        return;
+                    }
+                    dispatch(time);
+                    return;
+                }
+
+                startSlice(time);
+            }
+
+            private void dispatch(int time) {
+                events.onDispatch(index, running, time);
+                dispatches++;
+
+                // aging during the switch may have produced a better candidate;
+                // the displaced process keeps its previous aging timestamp
+                if (!ready.isEmpty()) {
+                    applyAging(time);
+                    if (ready.peekKey() < key(running)) {
+                        events.onPreempt(index, running, time);
+                        enqueue(running);
+                        running = dequeue();
+                        events.onContextSwitch(index, time, time + contextSwitch);
+                        phase = RESWITCHING;
+                        next = time + contextSwitch;
+                        return;
+                    }
+                }
+                startSlice(time);
+            }
+
+            // run until completion or the next aging event; arrivals cut it short
+            private void startSlice(int time) {
+                int nextAgingEvent = aging.isEmpty() ? Integer.MAX_VALUE
+                        : lastPriorityUpdate[aging.peek()] + agingInterval;
+                nextAgingEvent = Math.min(nextAgingEvent, settled.nextDue());
+                int slice = Math.min(remaining[running], nextAgingEvent - time);
+                if (slice <= 0) slice = 1;
+
+                phase = RUNNING;
+                runFrom = time;
+                next = time + slice;
+            }
+
+            int queued() {
+                return ready.size() + inbox.size();
+            }
+
+            int steal() {
+                if (!inbox.isEmpty()) return inbox.pollLast();
+                if (ready.isEmpty()) return -1;
+                int id = ready.last();
+                ready.remove(id);
+                unfile(id);
+                return id;
+            }
+
+            @Override
+            void save(DataOutput out) throws IOException {
+                super.save(out);
+                out.writeInt(phase);
+                out.writeInt(dispatches);
+                saveQueue(out, inbox);
+                saveHeap(out, ready, true);
+                saveHeap(out, aging, false);
+                out.writeInt(ready.size() - aging.size());
+                for (int i = 0; i < ready.size(); i++) {
+                    int id = ready.at(i);
+                    if (settled.contains(id)) {
+                        out.writeInt(id);
+                        out.writeInt(settled.timeOf(id));
+                    }
+                }
+            }
+
+            @Override
+            void restore(DataInput in) throws IOException {
+                super.restore(in);
+                phase = in.readInt();
+                dispatches = in.readInt();
+                restoreQueue(in, inbox);
+                restoreHeap(in, ready, true);
+                restoreHeap(in, aging, false);
+                for (int n = in.readInt(); n > 0; n--)
+                    settled.add(in.readInt(), in.readInt());
+            }
+        }
+    }
+
+    // SplitMix64 finaliser
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    // passes core-tagged events on to a listener that does not know about cores
+    private static class Untagged implements MultiCoreListener {
+        private final SimulationListener listener;
+
+        Untagged(SimulationListener listener) {
+            this.listener = listener;
+        }
+
+        public void onStart(Workload workload) { listener.onStart(workload); }
+        public void onDispatch(int id, int time) { listener.onDispatch(id, time); }
+        public void onPreempt(int id, int time) { listener.onPreempt(id, time); }
+        public void onBlock(int id, int time, int device) { listener.onBlock(id, time, device); }
+        public void onIO(int id, int device, int from, int to) { listener.onIO(id, device, from, to); }
+        public void onComplete(int id, int time, int waitingTime, int turnaroundTime) {
+            listener.onComplete(id, time, waitingTime, turnaroundTime);
+        }
+        public void onContextSwitch(int from, int to) { listener.onContextSwitch(from, to); }
+        public void onQuantumChange(int id, int time, int quantum) { listener.onQuantumChange(id, time, quantum); }
+        public void onAging(int id, int time, int priority) { listener.onAging(id, time, priority); }
+        public void onFinish(int time) { listener.onFinish(time); }
+    }
+
+    // usage: MultiCoreScheduler <scenario.json|.trace> <RR|SJF|Priority> [--cores 1,2,4,...] [--balance none|push|steal|power-of-two]
+    //                           [--migrationCost C] [--interval I] [--seed S] [--checkpoint file [--every T|Ns|Nm]]
+    // one core count prints the full result; a list prints one summary row per count.
+    // With --checkpoint (file.<cores> for a list) a rerun after a crash resumes where the snapshot left off.
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.out.println("Usage: MultiCoreScheduler <scenario.json|.trace> <RR|SJF|Priority> [--cores 1,2,4,...]"
+                    + " [--balance none|push|steal|power-of-two] [--migrationCost C] [--interval I] [--seed S]"
+                    + " [--checkpoint file [--every T|Ns|Nm]]");
+            return;
+        }
+        BatchRunner.BatchInput input = BatchRunner.BatchInput.load(new File(args[0]));
+        String policy = args[1];
+        int[] coreCounts = {1};
+        String balancing = "none";
+        int migrationCost = 0;
+        int balanceInterval = 10;
+        long seed = 1;
+        String checkpointFile = null;
+        String every = "60s";
+
+        for (int i = 2; i < args.length; i++) {
+            switch (args[i]) {
+                case "--cores": coreCounts = ParameterSweep.parseRange(args[++i]); break;
+                case "--balance": balancing = args[++i]; break;
+                case "--migrationCost": migrationCost = Integer.parseInt(args[++i]); break;
+                case "--interval": balanceInterval = Integer.parseInt(args[++i]); break;
+                case "--seed": seed = Long.parseLong(args[++i]); break;
+                case "--checkpoint": checkpointFile = args[++i]; break;
+                case "--every": every = args[++i]; break;
+                default: throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+
+        if (coreCounts.length > 1)
+            System.out.println("cores,averageWaitingTime,averageTurnaroundTime,waitingP99,imbalance,migrations");
+        for (int cores : coreCounts) {
+            MultiCoreScheduler scheduler = new MultiCoreScheduler(policy, cores,
+                    input.contextSwitch, input.rrQuantum, input.agingInterval);
+            scheduler.balancing = balancing;
+            scheduler.migrationCost = migrationCost;
+            scheduler.balanceInterval = balanceInterval;
+            scheduler.seed = seed;
+
+            MultiCoreResult result;
+            if (checkpointFile == null) {
+                result = scheduler.simulate(input.workload);
+            } else {
+                String file = coreCounts.length == 1 ? checkpointFile : checkpointFile + "." + cores;
+                result = scheduler.simulate(input.workload, new Checkpoint(Paths.get(file)).every(every));
+            }
+            if (coreCounts.length == 1) {
+                Simulator.printResult(policy + " on " + cores + " cores (" + balancing + ")", result);
+            } else {
+                System.out.printf("%d,%.2f,%.2f,%d,%.3f,%d%n", cores, result.averageWaitingTime,
+                        result.averageTurnaroundTime, result.latency.waiting.valueAtPercentile(99),
+                        result.imbalance, result.migrations);
+            }
+        }
+    }
+}
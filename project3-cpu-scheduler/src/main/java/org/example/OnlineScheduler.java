@@ -0,0 +1,158 @@
+package org.example;
+
+// =====================================================
+// OnlineScheduler (live arrivals, clock advanced on demand)
+// =====================================================
+// For shadowing a real job queue: processes are submitted as they arrive,
+// advanceTo(t) runs the schedule up to t, and dispatches, preemptions and
+// completions reach the listener as they happen. Nothing is sorted up front;
+// arrivals only have to come in time order. It drives the same engine as
+// MultiCoreScheduler (one core unless handed a configured one), so fed the
+// same processes it produces the same schedule as the batch run.
+//
+// Memory is fixed by capacity, the most processes in the system at once. A
+// process id is a slot that is reused after onComplete, so listeners must not
+// hold ids past that point: SummaryListener, LatencyListener and
+// EventLogListener are fine, SimulationResult's timeline is not.
+class OnlineScheduler {
+    private final Slots slots;
+    private final SimulationListener listener;
+    private final MultiCoreScheduler.Machine machine;
+    private int now;
+    private int lastArrival;
+    private int live;
+    private boolean finished;
+
+    // single core, policy "RR", "SJF" or "Priority"
+    public OnlineScheduler(String policy, int contextSwitch, int rrQuantum, int agingInterval,
+                           int capacity, SimulationListener listener) {
+        this(new MultiCoreScheduler(policy, 1, contextSwitch, rrQuantum, agingInterval), capacity, listener);
+    }
+
+    public OnlineScheduler(MultiCoreScheduler scheduler, int capacity, SimulationListener listener) {
+        if (capacity < 1) throw new IllegalArgumentException("capacity must be at least 1");
+        scheduler.validate();
+        this.slots = new Slots(capacity);
+        this.listener = listener;
+        this.machine = scheduler.new Machine(slots, new Events(MultiCoreScheduler.tagged(listener)), capacity);
+        listener.onStart(slots);
+    }
+
+    // name arrives at arrival (not before the clock or an earlier submission); returns its id
+    public int submit(String name, int arrival, int burst, int priority) {
+        if (finished) throw new IllegalStateException("Scheduler already finished");
+        if (arrival < now || arrival < lastArrival)
+            throw new IllegalArgumentException(name + " arrives at " + arrival + ", before the clock (" + now
+                    + ") or the previous arrival (" + lastArrival + ")");
+        if (burst < 1) throw new IllegalArgumentException(name + " has no work: burst " + burst);
+        if (live == slots.capacity())
+            throw new IllegalStateException("All " + slots.capacity() + " slots in use; advance the clock first");
+
+        int id = slots.take(name, arrival, burst, priority);
+        live++;
+        lastArrival = arrival;
+        machine.submit(id);
+        return id;
+    }
+
+    // arrives now
+    public int submit(String name, int burst, int priority) {
+        return submit(name, now, burst, priority);
+    }
+
+    // runs every event before time; later submissions may arrive at time or after
+    public void advanceTo(int time) {
+        if (time < now) throw new IllegalArgumentException("Clock is at " + now + ", cannot go back to " + time);
+        machine.advance(time);
+        now = time;
+    }
+
+    // runs everything submitted to completion and ends the run (onFinish)
+    public void finish() {
+        if (finished) return;
+        machine.advance(Integer.MAX_VALUE);
+        now = Math.max(now, machine.time);
+        finished = true;
+        listener.onFinish(machine.time);
+    }
+
+    public int now() {
+        return now;
+    }
+
+    // submitted and not yet completed
+    public int live() {
+        return live;
+    }
+
+    public int completed() {
+        return machine.finished;
+    }
+
+    // frees a process's slot once its completion has been delivered
+    private class Events implements MultiCoreListener {
+        private final MultiCoreListener target;
+
+        Events(MultiCoreListener target) {
+            this.target = target;
+        }
+
+        public void onDispatch(int core, int id, int time) { target.onDispatch(core, id, time); }
+        public void onPreempt(int core, int id, int time) { target.onPreempt(core, id, time); }
+        public void onContextSwitch(int core, int from, int to) { target.onContextSwitch(core, from, to); }
+        public void onMigrate(int id, int time, int fromCore, int toCore) { target.onMigrate(id, time, fromCore, toCore); }
+        public void onAging(int id, int time, int priority) { target.onAging(id, time, priority); }
+
+        public void onComplete(int core, int id, int time, int waitingTime, int turnaroundTime) {
+            target.onComplete(core, id, time, waitingTime, turnaroundTime);
+            slots.release(id);
+            live--;
+        }
+    }
+
+    // =====================================================
+    // Slots (the live processes, as a Workload)
+    // =====================================================
+    private static class Slots implements Workload {
+        private final String[] name;
+        private final int[] arrival;
+        private final int[] burst;
+        private final int[] priority;
+        private final IntQueue free;
+
+        Slots(int capacity) {
+            name = new String[capacity];
+            arrival = new int[capacity];
+            burst = new int[capacity];
+            priority = new int[capacity];
+            free = new IntQueue(capacity);
+            for (int i = 0; i < capacity; i++)
+                free.add(i);
+        }
+
+        int capacity() {
+            return name.length;
+        }
+
+        int take(String name, int arrival, int burst, int priority) {
+            int id = free.poll();
+            this.name[id] = name;
+            this.arrival[id] = arrival;
+            this.burst[id] = burst;
+            this.priority[id] = priority;
+            return id;
+        }
+
+        void release(int id) {
+            name[id] = null;
+            free.add(id);
+        }
+
+        public int size() { return name.length; }
+        public String name(int id) { return name[id]; }
+        public int arrival(int id) { return arrival[id]; }
+        public int burst(int id) { return burst[id]; }
+        public int priority(int id) { return priority[id]; }
+        public int quantum(int id) { return 0; }
+    }
+}
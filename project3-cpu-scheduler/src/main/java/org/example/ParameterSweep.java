@@ -0,0 +1,266 @@
+package org.example;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+
+// =====================================================
+// ParameterSweep (cartesian product of scheduler settings)
+// =====================================================
+// Loads one workload and runs every scheduler over every combination of the
+// parameters it actually reads: SJF sweeps contextSwitch, RR sweeps
+// rrQuantum x contextSwitch, Priority sweeps contextSwitch x agingInterval
+// and AG sweeps its initial quantum x contextSwitch. All runs share the same
+// read-only Workload; an AG quantum override is a view, not a copy.
+// Given a checkpoint directory, the SJF, RR and Priority runs go through the
+// one-core MultiCoreScheduler (same schedules) and save there, so rerunning
+// the same sweep after a crash resumes each run instead of restarting it;
+// AG has no resumable engine and starts over. A run keeps only what its CSV
+// row needs (Totals), so neither its memory nor its snapshots grow with the
+// trace.
+class ParameterSweep {
+
+    static final String CSV_HEADER =
+            "scheduler,contextSwitch,rrQuantum,agingInterval,agQuantum,"
+            + "averageWaitingTime,averageTurnaroundTime,contextSwitches," + LatencyListener.CSV_HEADER;
+
+    // a run's averages, context switches and latency histograms: constant size
+    static class Totals implements SimulationListener, Snapshot {
+        final SummaryListener summary = new SummaryListener();
+        final LatencyListener latency = new LatencyListener();
+
+        @Override
+        public void onStart(Workload workload) {
+            latency.onStart(workload);
+        }
+
+        @Override
+        public void onDispatch(int id, int time) {
+            summary.onDispatch(id, time);
+            latency.onDispatch(id, time);
+        }
+
+        @Override
+        public void onComplete(int id, int time, int waitingTime, int turnaroundTime) {
+            summary.onComplete(id, time, waitingTime, turnaroundTime);
+            latency.onComplete(id, time, waitingTime, turnaroundTime);
+        }
+
+        @Override
+        public void onContextSwitch(int from, int to) {
+            summary.onContextSwitch(from, to);
+        }
+
+        @Override
+        public void onFinish(int time) {
+            summary.onFinish(time);
+        }
+
+        @Override
+        public void save(DataOutput out) throws IOException {
+            summary.save(out);
+            latency.save(out);
+        }
+
+        @Override
+        public void restore(DataInput in) throws IOException {
+            summary.restore(in);
+            latency.restore(in);
+        }
+    }
+
+    // one configuration and, once run, its totals
+    static class Run {
+        final String scheduler;
+        final int contextSwitch;
+        final int rrQuantum;
+        final int agingInterval;
+        final int agQuantum;
+        final CompletableFuture<Totals> result;
+
+        Run(String scheduler, int contextSwitch, int rrQuantum, int agingInterval, int agQuantum,
+            CompletableFuture<Totals> result) {
+            this.scheduler = scheduler;
+            this.contextSwitch = contextSwitch;
+            this.rrQuantum = rrQuantum;
+            this.agingInterval = agingInterval;
+            this.agQuantum = agQuantum;
+            this.result = result;
+        }
+
+        String toCsv() {
+            Totals r = result.join();
+            return scheduler + "," + contextSwitch + "," + rrQuantum + "," + agingInterval + "," + agQuantum
+                    + "," + r.summary.averageWaitingTime() + "," + r.summary.averageTurnaroundTime()
+                    + "," + r.summary.contextSwitches + "," + r.latency.toCsv();
+        }
+    }
+
+    // the ranges to sweep; an empty agQuantum range keeps each process's own quantum
+    int[] contextSwitch;
+    int[] rrQuantum;
+    int[] agingInterval;
+    int[] agQuantum = new int[0];
+
+    Path checkpoints;
+    String checkpointEvery = "60s";
+
+    private final ExecutorService executor;
+
+    public ParameterSweep(ExecutorService executor) {
+        this.executor = executor;
+    }
+
+    public List<Run> submit(Workload workload) {
+        List<Run> runs = new ArrayList<>();
+
+        for (int cs : contextSwitch)
+            runs.add(run("SJF", cs, 0, 0, 0, workload, new EventSJFScheduler(cs)));
+
+        for (int q : rrQuantum)
+            for (int cs : contextSwitch)
+                runs.add(run("RR", cs, q, 0, 0, workload, new RoundRobinScheduler(q, cs)));
+
+        for (int cs : contextSwitch)
+            for (int aging : agingInterval)
+                runs.add(run("Priority", cs, 0, aging, 0, workload, new LazyAgingPriorityScheduler(cs, aging)));
+
+        if (agQuantum.length == 0) {
+            for (int cs : contextSwitch)
+                runs.add(run("AG", cs, 0, 0, 0, workload, new EventAGScheduler(cs)));
+        } else {
+            for (int q : agQuantum) {
+                Workload view = withQuantum(workload, q);
+                for (int cs : contextSwitch)
+                    runs.add(run("AG", cs, 0, 0, q, view, new EventAGScheduler(cs)));
+            }
+        }
+        return runs;
+    }
+
+    private Run run(String title, int cs, int q, int aging, int agQ, Workload workload, Scheduler scheduler) {
+        Supplier<Totals> job = () -> {
+            Totals totals = new Totals();
+            scheduler.run(workload, totals);
+            return totals;
+        };
+        if (checkpoints != null && !title.equals("AG")) {
+            MultiCoreScheduler resumable = new MultiCoreScheduler(title, 1, cs, q, aging);
+            Checkpoint checkpoint = new Checkpoint(checkpoints.resolve(
+                    title + "-cs" + cs + "-q" + q + "-aging" + aging + ".ckpt")).every(checkpointEvery);
+            job = () -> {
+                Totals totals = new Totals();
+                resumable.run(workload, totals, checkpoint);
+                return totals;
+            };
+        }
+        return new Run(title, cs, q, aging, agQ, CompletableFuture.supplyAsync(job, executor));
+    }
+
+    // writes the rows in submission order, so the CSV does not depend on thread timing
+    public void write(List<Run> runs, PrintWriter out) {
+        out.println(CSV_HEADER);
+        for (Run run : runs)
+            out.println(run.toCsv());
+        out.flush();
+    }
+
+    // same processes, every initial AG quantum replaced by q
+    static Workload withQuantum(Workload base, int q) {
+        return new Workload() {
+            public int size() { return base.size(); }
+            public String name(int id) { return base.name(id); }
+            public int arrival(int id) { return base.arrival(id); }
+            public int burst(int id) { return base.burst(id); }
+            public int priority(int id) { return base.priority(id); }
+            public int quantum(int id) { return q; }
+        };
+    }
+
+    // "a:b" or "a:b:step" (inclusive) or "a,b,c"
+    static int[] parseRange(String spec) {
+        if (spec.contains(":")) {
+            String[] parts = spec.split(":");
+            int from = Integer.parseInt(parts[0].trim());
+            int to = Integer.parseInt(parts[1].trim());
+            int step = parts.length > 2 ? Integer.parseInt(parts[2].trim()) : 1;
+            if (step <= 0 || to < from)
+                throw new IllegalArgumentException("Bad range: " + spec);
+            int[] values = new int[(to - from) / step + 1];
+            for (int i = 0; i < values.length; i++)
+                values[i] = from + i * step;
+            return values;
+        }
+        return Arrays.stream(spec.split(",")).map(String::trim).mapToInt(Integer::parseInt).toArray();
+    }
+
+    // usage: ParameterSweep <workload.json|.trace> [--quantum R] [--contextSwitch R] [--aging R]
+    //                       [--agQuantum R] [--out file.csv] [--threads N] [--checkpoint dir [--every T|Ns|Nm]]
+    // parameters that are not given stay at the workload file's own value
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.out.println("Usage: ParameterSweep <workload.json|.trace> [--quantum a:b[:step]] "
+                    + "[--contextSwitch ...] [--aging ...] [--agQuantum ...] [--out file.csv] [--threads N] "
+                    + "[--checkpoint dir [--every T|Ns|Nm]]");
+            return;
+        }
+
+        BatchRunner.BatchInput input = BatchRunner.BatchInput.load(new File(args[0]));
+        int[] contextSwitch = {input.contextSwitch};
+        int[] rrQuantum = {input.rrQuantum};
+        int[] agingInterval = {input.agingInterval};
+        int[] agQuantum = new int[0];
+        int threads = Runtime.getRuntime().availableProcessors();
+        String out = null;
+        Path checkpoints = null;
+        String every = "60s";
+
+        for (int i = 1; i < args.length; i++) {
+            switch (args[i]) {
+                case "--quantum": rrQuantum = parseRange(args[++i]); break;
+                case "--contextSwitch": contextSwitch = parseRange(args[++i]); break;
+                case "--aging": agingInterval = parseRange(args[++i]); break;
+                case "--agQuantum": agQuantum = parseRange(args[++i]); break;
+                case "--out": out = args[++i]; break;
+                case "--threads": threads = Integer.parseInt(args[++i]); break;
+                case "--checkpoint": checkpoints = Files.createDirectories(Paths.get(args[++i])); break;
+                case "--every": every = args[++i]; break;
+                default: throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            ParameterSweep runner = new ParameterSweep(pool);
+            runner.contextSwitch = contextSwitch;
+            runner.rrQuantum = rrQuantum;
+            runner.agingInterval = agingInterval;
+            runner.agQuantum = agQuantum;
+            runner.checkpoints = checkpoints;
+            runner.checkpointEvery = every;
+
+            long start = System.nanoTime();
+            List<Run> runs = runner.submit(input.workload);
+            if (out == null) {
+                runner.write(runs, new PrintWriter(System.out));
+            } else {
+                try (PrintWriter writer = new PrintWriter(out)) {
+                    runner.write(runs, writer);
+                }
+            }
+            double elapsedMs = (System.nanoTime() - start) / 1_000_000.0;
+            System.err.printf("%d configurations in %.1f ms\n", runs.size(), elapsedMs);
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package org.example;
+import java.util.*;
+
+// =====================================================
+// Priority Scheduler + Aging
+// =====================================================
+class PriorityScheduler implements Scheduler {
+
+    private int contextSwitchTime;
+    private int agingStep;
+    private Workload processes;
+    private int[] remaining;
+    private int[] priority;
+    private int[] lastPriorityUpdate;
+    private boolean[] inserted;
+    private int dispatches;
+    private int activeProcess;
+    private int systemClock;
+    private PriorityQueue<Integer> readyList;
+
+    // Constructor used by simulate() method
+    public PriorityScheduler(int contextSwitchTime, int agingStep) {
+        this.contextSwitchTime = contextSwitchTime;
+        this.agingStep = agingStep;
+    }
+
+    // Constructor used when processes are passed directly
+    public PriorityScheduler(int contextSwitchTime, int agingStep, Workload processes) {
+        this.contextSwitchTime = contextSwitchTime;
+        this.agingStep = agingStep;
+        this.processes = processes;
+        this.activeProcess = -1; // no process running initially
+        this.systemClock = 0;
+        this.readyList = new PriorityQueue<>(this::compare);
+
+        // Runtime state lives here; the workload itself is never written
+        int n = processes.size();
+        this.remaining = new int[n];
+        this.priority = new int[n];
+        this.lastPriorityUpdate = new int[n];
+        this.inserted = new boolean[n];
+        for (int i = 0; i < n; i++) {
+            remaining[i] = processes.burst(i);
+            priority[i] = processes.priority(i);
+            lastPriorityUpdate[i] = processes.arrival(i);
+        }
+    }
+
+    // Compare based on priority value, then arrival time, then original index
+    private int compare(int a, int b) {
+        if (priority[a] != priority[b]) {
+            return priority[a] - priority[b];
+        }
+        if (processes.arrival(a) != processes.arrival(b)) {
+            return processes.arrival(a) - processes.arrival(b);
+        }
+        return a - b;
+    }
+
+    private void applyAging(SimulationListener listener) {
+        // Temporarily remove all processes to update priorities safely
+        List<Integer> buffer = new ArrayList<>();
+        while (!readyList.isEmpty()) {
+            buffer.add(readyList.poll());
+        }
+
+        // Update priorities according to waiting duration
+        for (int proc : buffer) {
+            int waitedDuration = systemClock - lastPriorityUpdate[proc];
+
+            // Apply aging for each full agingStep interval
+            if (waitedDuration >= agingStep) {
+                int decrement = waitedDuration / agingStep;
+                int updatedPriority = priority[proc] - decrement;
+                if (updatedPriority < 1) {
+                    updatedPriority = 1;
+                }
+                lastPriorityUpdate[proc] = systemClock;
+                if (updatedPriority != priority[proc]) {
+                    priority[proc] = updatedPriority;
+                    listener.onAging(proc, systemClock, updatedPriority);
+                }
+            }
+        }
+
+        // Reinsert processes into the priority queue
+        readyList.addAll(buffer);
+    }
+
+    // Add processes that have arrived by now
+    private void admitArrivals() {
+        for (int i = 0; i < remaining.length; i++) {
+            if (processes.arrival(i) <= systemClock && !inserted[i] && remaining[i] > 0) {
+                readyList.add(i);
+                inserted[i] = true;
+                lastPriorityUpdate[i] = systemClock;
+            }
+        }
+    }
+
+    private boolean allProcessesFinished() {
+        for (int r : remaining) {
+            if (r > 0) return false;
+        }
+        return true;
+    }
+
+    public void execute(SimulationListener listener) {
+        int n = remaining.length;
+
+        // nothing to run: done on arrival
+        for (int i = 0; i < n; i++) {
+            if (remaining[i] <= 0)
+                listener.onComplete(i, processes.arrival(i), 0, 0);
+        }
+
+        while (!allProcessesFinished()) {
+
+            // Add newly arrived processes
+            admitArrivals();
+
+            // If CPU is idle and no ready processes, advance time
+            if (activeProcess < 0 && readyList.isEmpty()) {
+                systemClock++;
+                continue;
+            }
+
+            boolean rescheduleRequired = activeProcess < 0
+                    || (!readyList.isEmpty() && compare(readyList.peek(), activeProcess) < 0);
+
+            if (rescheduleRequired) {
+
+                // Return currently running process to ready list
+                if (activeProcess >= 0) {
+                    listener.onPreempt(activeProcess, systemClock);
+                    readyList.add(activeProcess);
+                    lastPriorityUpdate[activeProcess] = systemClock;
+                }
+
+                // Select next process to run
+                activeProcess = readyList.poll();
+
+                // Apply context switch overhead (except first run)
+                if (dispatches > 0) {
+                    listener.onContextSwitch(systemClock, systemClock + contextSwitchTime);
+                    systemClock += contextSwitchTime;
+
+                    // Add processes that arrive during context switch
+                    admitArrivals();
+                }
+                listener.onDispatch(activeProcess, systemClock);
+                dispatches++;
+
+                // Apply aging after context switch
+                if (!readyList.isEmpty()) {
+                    applyAging(listener);
+
+                    // Verify selected process is still optimal
+                    if (compare(readyList.peek(), activeProcess) < 0) {
+
+                        listener.onPreempt(activeProcess, systemClock);
+                        readyList.add(activeProcess);
+                        activeProcess = readyList.poll();
+
+                        listener.onContextSwitch(systemClock, systemClock + contextSwitchTime);
+                        systemClock += contextSwitchTime;
+                        listener.onDispatch(activeProcess, systemClock);
+                        dispatches++;
+
+                        admitArrivals();
+
+                        if (!readyList.isEmpty()) {
+                            applyAging(listener);
+                        }
+                    }
+                }
+            }
+
+            // Execute the active process
+            int active = activeProcess;
+
+            int nextAgingEvent = Integer.MAX_VALUE;
+            for (int proc : readyList) {
+                int waited = systemClock - lastPriorityUpdate[proc];
+                int untilNextAging = agingStep - (waited % agingStep);
+                nextAgingEvent = Math.min(nextAgingEvent, systemClock + untilNextAging);
+            }
+
+            int nextArrivalTime = Integer.MAX_VALUE;
+            for (int i = 0; i < n; i++) {
+                if (!inserted[i] && processes.arrival(i) > systemClock) {
+                    nextArrivalTime = Math.min(nextArrivalTime, processes.arrival(i));
+                }
+            }
+
+            int executionSlice = Math.min(
+                    remaining[active],
+                    Math.min(nextAgingEvent - systemClock, nextArrivalTime - systemClock)
+            );
+
+            if (executionSlice <= 0) executionSlice = 1;
+
+            remaining[active] -= executionSlice;
+            systemClock += executionSlice;
+
+            // Handle arrivals during execution
+            admitArrivals();
+
+            if (!readyList.isEmpty()) {
+                applyAging(listener);
+            }
+
+            if (remaining[active] == 0) {
+                int turnaroundTime = systemClock - processes.arrival(active);
+                int waitingTime = turnaroundTime - processes.burst(active);
+                listener.onComplete(active, systemClock, waitingTime, turnaroundTime);
+                activeProcess = -1;
+            }
+        }
+
+        listener.onFinish(systemClock);
+    }
+
+    // processResults in input order, as this scheduler has always listed them
+    @Override
+    public SimulationResult simulate(Workload workload) {
+        SimulationResult result = new SimulationResult(workload::name);
+        result.inputOrder = true;
+        run(workload, result);
+        return result;
+    }
+
+    @Override
+    public void run(Workload workload, SimulationListener listener) {
+        listener = Instrumentation.attach(this, listener);
+        listener.onStart(workload);
+
+        PriorityScheduler scheduler =
+                new PriorityScheduler(this.contextSwitchTime, this.agingStep, workload);
+
+        scheduler.execute(listener);
+    }
+}
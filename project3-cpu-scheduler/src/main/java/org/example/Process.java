@@ -0,0 +1,23 @@
+package org.example;
+
+// =====================================================
+//                 Process Class
+// =====================================================
+// Input only: schedulers read processes through a Workload and keep their
+// runtime state (remaining time, aged priority, quantum) in their own arrays.
+class Process {
+    final String name;
+    final int arrivalTime;
+    final int burstTime;
+
+    final int priority; // For Priority + AG
+    final int quantum; // For AG
+
+    public Process(String name, int arrivalTime, int burstTime, int priority, int quantum) {
+        this.name = name;
+        this.arrivalTime = arrivalTime;
+        this.burstTime = burstTime;
+        this.priority = priority;
+        this.quantum = quantum;
+    }
+}
@@ -0,0 +1,17 @@
+package org.example;
+import java.util.*;
+
+class ProcessJSON {
+    public String name;
+    public int arrival;
+    public int burst;
+    public int priority;
+    public List<Integer> bursts;  // optional: CPU, I/O, CPU, ...; burst is then their CPU total
+    public List<String> devices;  // optional: the device of each I/O burst, "disk" by default
+
+    int addTo(ProcessTable table) {
+        if (bursts == null) return table.add(name, arrival, burst, priority, 0); // quantum 0 for non-AG
+        return table.add(name, arrival, bursts.stream().mapToInt(Integer::intValue).toArray(),
+                devices == null ? null : devices.toArray(new String[0]), priority, 0);
+    }
+}
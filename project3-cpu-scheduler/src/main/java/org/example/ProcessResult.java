@@ -0,0 +1,18 @@
+package org.example;
+
+// =====================================================
+// ProcessResult
+// =====================================================
+class ProcessResult {
+    public String name;
+    public int waitingTime;
+    public int turnaroundTime;
+
+    public ProcessResult() {}
+
+    public ProcessResult(String name, int waitingTime, int turnaroundTime) {
+        this.name = name;
+        this.waitingTime = waitingTime;
+        this.turnaroundTime = turnaroundTime;
+    }
+}
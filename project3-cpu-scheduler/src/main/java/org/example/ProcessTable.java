@@ -0,0 +1,198 @@
+package org.example;
+import java.util.*;
+
+// =====================================================
+// ProcessTable (struct-of-arrays process store)
+// =====================================================
+// One slot per process id in parallel int arrays, so a process costs four
+// ints plus a shared name reference instead of a Process object and its
+// side-table entries. Names are stored once and every result that mentions
+// a process reuses the same String. Only add() writes: once loaded, one
+// table is shared read-only by every scheduler and thread that runs it.
+//
+// CPU/I-O sequences live in a second set of arrays that only exists once
+// some process does I/O: id's bursts are phase[phaseStart[id]] up to
+// phase[phaseStart[id + 1]], CPU at even offsets and I/O at odd ones, each
+// I/O burst's device index beside it in phaseDevice.
+class ProcessTable implements Workload {
+    static final String DEFAULT_DEVICE = "disk";
+
+    private String[] names;
+    private int[] arrival;
+    private int[] burst;
+    private int[] priority;
+    private int[] quantum;
+    private int size;
+
+    private int[] phaseStart; // null while every process is CPU-only
+    private int[] phase;
+    private int[] phaseDevice;
+    private int phaseCount;
+    private final List<String> devices = new ArrayList<>();
+    private final Map<String, Integer> deviceIndex = new HashMap<>();
+
+    public ProcessTable(int capacity) {
+        capacity = Math.max(capacity, 1);
+        names = new String[capacity];
+        arrival = new int[capacity];
+        burst = new int[capacity];
+        priority = new int[capacity];
+        quantum = new int[capacity];
+    }
+
+    public static ProcessTable from(List<Process> processes) {
+        ProcessTable table = new ProcessTable(processes.size());
+        for (Process p : processes)
+            table.add(p.name, p.arrivalTime, p.burstTime, p.priority, p.quantum);
+        return table;
+    }
+
+    public int add(String name, int arrivalTime, int burstTime, int priority, int quantum) {
+        int id = put(name, arrivalTime, burstTime, priority, quantum);
+        if (phaseStart != null) {
+            addPhase(burstTime, 0);
+            phaseStart[id + 1] = phaseCount;
+        }
+        return id;
+    }
+
+    // bursts alternate CPU and I/O, starting and ending with CPU; devices[k]
+    // is the device of the k-th I/O burst (null: all on DEFAULT_DEVICE).
+    // burst(id) is the CPU total.
+    public int add(String name, int arrivalTime, int[] bursts, String[] devices, int priority, int quantum) {
+        if (bursts.length % 2 == 0)
+            throw new IllegalArgumentException(name + " must start and end with a CPU burst: " + Arrays.toString(bursts));
+        if (devices == null) {
+            devices = new String[bursts.length / 2];
+            Arrays.fill(devices, DEFAULT_DEVICE);
+        }
+        if (devices.length != bursts.length / 2)
+            throw new IllegalArgumentException(name + " has " + bursts.length / 2 + " I/O bursts but "
+                    + devices.length + " devices");
+        if (bursts.length == 1) return add(name, arrivalTime, bursts[0], priority, quantum);
+        for (int b : bursts)
+            if (b < 1) throw new IllegalArgumentException(name + " has an empty burst: " + Arrays.toString(bursts));
+
+        if (phaseStart == null) startPhases();
+        int cpu = 0;
+        for (int k = 0; k < bursts.length; k += 2)
+            cpu += bursts[k];
+        int id = put(name, arrivalTime, cpu, priority, quantum);
+        for (int k = 0; k < bursts.length; k++)
+            addPhase(bursts[k], k % 2 == 0 ? 0 : device(devices[k / 2]));
+        phaseStart[id + 1] = phaseCount;
+        return id;
+    }
+
+    private int put(String name, int arrivalTime, int burstTime, int priority, int quantum) {
+        if (size == arrival.length) grow();
+        int id = size++;
+        this.names[id] = name;
+        this.arrival[id] = arrivalTime;
+        this.burst[id] = burstTime;
+        this.priority[id] = priority;
+        this.quantum[id] = quantum;
+        return id;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public String name(int id) {
+        return names[id];
+    }
+
+    @Override
+    public int arrival(int id) {
+        return arrival[id];
+    }
+
+    @Override
+    public int burst(int id) {
+        return burst[id];
+    }
+
+    @Override
+    public int priority(int id) {
+        return priority[id];
+    }
+
+    @Override
+    public int quantum(int id) {
+        return quantum[id];
+    }
+
+    @Override
+    public int cpuBursts(int id) {
+        return phaseStart == null ? 1 : (phaseStart[id + 1] - phaseStart[id] + 1) / 2;
+    }
+
+    @Override
+    public int cpuBurst(int id, int k) {
+        if (k < 0 || k >= cpuBursts(id))
+            throw new IndexOutOfBoundsException(name(id) + " has no CPU burst " + k);
+        return phaseStart == null ? burst[id] : phase[phaseStart[id] + 2 * k];
+    }
+
+    @Override
+    public int ioBurst(int id, int k) {
+        return phase[ioPhase(id, k)];
+    }
+
+    @Override
+    public int ioDevice(int id, int k) {
+        return phaseDevice[ioPhase(id, k)];
+    }
+
+    @Override
+    public List<String> devices() {
+        return Collections.unmodifiableList(devices);
+    }
+
+    private int ioPhase(int id, int k) {
+        if (k < 0 || k >= cpuBursts(id) - 1)
+            throw new IndexOutOfBoundsException(name(id) + " has no I/O burst " + k);
+        return phaseStart[id] + 2 * k + 1;
+    }
+
+    private int device(String name) {
+        return deviceIndex.computeIfAbsent(name, n -> {
+            devices.add(n);
+            return devices.size() - 1;
+        });
+    }
+
+    // the first process with I/O: every earlier one becomes a single CPU burst
+    private void startPhases() {
+        phaseStart = new int[arrival.length + 1];
+        phase = new int[Math.max(16, 2 * size)];
+        phaseDevice = new int[phase.length];
+        for (int id = 0; id < size; id++) {
+            addPhase(burst[id], 0);
+            phaseStart[id + 1] = phaseCount;
+        }
+    }
+
+    private void addPhase(int length, int device) {
+        if (phaseCount == phase.length) {
+            int capacity = phase.length + (phase.length >> 1) + 1;
+            phase = Arrays.copyOf(phase, capacity);
+            phaseDevice = Arrays.copyOf(phaseDevice, capacity);
+        }
+        phase[phaseCount] = length;
+        phaseDevice[phaseCount++] = device;
+    }
+
+    private void grow() {
+        int capacity = arrival.length + (arrival.length >> 1) + 1;
+        names = Arrays.copyOf(names, capacity);
+        arrival = Arrays.copyOf(arrival, capacity);
+        burst = Arrays.copyOf(burst, capacity);
+        priority = Arrays.copyOf(priority, capacity);
+        quantum = Arrays.copyOf(quantum, capacity);
+        if (phaseStart != null) phaseStart = Arrays.copyOf(phaseStart, capacity + 1);
+    }
+}
@@ -0,0 +1,237 @@
+package org.example;
+import java.io.*;
+import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// =====================================================
+// ResultCache (on-disk, content addressed, LRU)
+// =====================================================
+// One file per SimulationResult, named by the SHA-256 of everything the
+// result depends on: the simulator's own class files (so any code change
+// starts afresh), the scheduler class, its settings and the workload's
+// processes, CPU/I-O phases included. Keys come from values, not file bytes,
+// so the JSON and .trace forms of a scenario share entries. An entry restores
+// as the result type that was saved (IOResult, MultiCoreResult or plain).
+// Entries are written atomically and several processes may share a
+// directory; a file that vanished or does not parse is a miss. Once the directory is over maxBytes, the least recently
+// used entries (by modification time, refreshed on every hit) are deleted.
+class ResultCache {
+    static final int MAGIC = 0x52534c54; // "RSLT"
+    static final int VERSION = 3;
+
+    // the result type an entry restores as
+    private static final byte PLAIN = 0, MULTI_CORE = 1, IO = 2;
+
+    private static final String ENGINE = engineVersion();
+
+    final Path dir;
+    final long maxBytes;
+
+    // key -> file size, least recently used first
+    private final LinkedHashMap<String, Long> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytes;
+    private int hits;
+    private int misses;
+
+    public ResultCache(Path dir, long maxBytes) throws IOException {
+        this.dir = Files.createDirectories(dir);
+        this.maxBytes = maxBytes;
+
+        List<Path> files;
+        try (Stream<Path> list = Files.list(dir)) {
+            files = list.filter(p -> p.getFileName().toString().endsWith(".result")).collect(Collectors.toList());
+        }
+        Map<Path, FileTime> used = new HashMap<>();
+        for (Path f : files)
+            used.put(f, Files.getLastModifiedTime(f));
+        files.sort(Comparator.comparing(used::get));
+        for (Path f : files) {
+            String name = f.getFileName().toString();
+            long size = Files.size(f);
+            entries.put(name.substring(0, name.length() - ".result".length()), size);
+            bytes += size;
+        }
+        evict();
+    }
+
+    // scheduler: the class that ran; settings: every parameter it reads, e.g. "rrQuantum=4 contextSwitch=1"
+    static String key(Class<? extends Scheduler> scheduler, String settings, Workload w) {
+        MessageDigest digest = sha256();
+        digest.update(ENGINE.getBytes(StandardCharsets.UTF_8));
+        digest.update((scheduler.getName() + '\n' + settings + '\n').getBytes(StandardCharsets.UTF_8));
+
+        ByteBuffer process = ByteBuffer.allocate(16);
+        process.putInt(0, w.size());
+        digest.update(process.array(), 0, 4);
+        for (int i = 0; i < w.size(); i++) {
+            digest.update(w.name(i).getBytes(StandardCharsets.UTF_8));
+            process.putInt(0, w.arrival(i)).putInt(4, w.burst(i)).putInt(8, w.priority(i)).putInt(12, w.quantum(i));
+            digest.update((byte) 0);
+            digest.update(process.array());
+
+            // the CPU/I-O phases: workloads with the same totals can differ here
+            int bursts = w.cpuBursts(i);
+            process.putInt(0, bursts);
+            digest.update(process.array(), 0, 4);
+            for (int k = 0; k < bursts; k++) {
+                process.putInt(0, w.cpuBurst(i, k));
+                if (k < bursts - 1) process.putInt(4, w.ioBurst(i, k)).putInt(8, w.ioDevice(i, k));
+                else process.putInt(4, 0).putInt(8, -1);
+                digest.update(process.array(), 0, 12);
+            }
+        }
+        for (String device : w.devices()) {
+            digest.update(device.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+        }
+        return hex(digest.digest());
+    }
+
+    // the cached result for key, or compute's result, which is then stored
+    public SimulationResult get(String key, Workload w, Supplier<SimulationResult> compute) {
+        SimulationResult cached = read(key, w);
+        if (cached != null) return cached;
+        SimulationResult result = compute.get();
+        write(key, result);
+        return result;
+    }
+
+    public synchronized int hits() {
+        return hits;
+    }
+
+    public synchronized int misses() {
+        return misses;
+    }
+
+    private synchronized SimulationResult read(String key, Workload w) {
+        Path file = file(key);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) throw new IOException("not a result");
+
+            // the type that was saved: its save() may write more than SimulationResult's
+            byte type = in.readByte();
+            int cores = in.readInt();
+            int finishTime = in.readInt();
+            SimulationResult result = type == IO ? new IOResult(w::name, cores)
+                    : type == MULTI_CORE ? new MultiCoreResult(w::name, cores)
+                    : new SimulationResult(w::name);
+            result.onStart(w);
+            result.restore(in);
+            result.averageWaitingTime = in.readDouble();
+            result.averageTurnaroundTime = in.readDouble();
+            // utilization and the other figures worked out at the end of a run
+            if (result instanceof MultiCoreResult) result.onFinish(finishTime);
+
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+            if (entries.get(key) == null) {
+                long size = Files.size(file);
+                entries.put(key, size);
+                bytes += size;
+            }
+            hits++;
+            return result;
+        } catch (IOException e) {
+            // missing, half-deleted by another process, or from an older format
+            forget(key);
+            misses++;
+            return null;
+        }
+    }
+
+    private synchronized void write(String key, SimulationResult result) {
+        Path file = file(key);
+        Path partial = dir.resolve(key + "." + Thread.currentThread().getId() + ".partial");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(partial)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                MultiCoreResult multi = result instanceof MultiCoreResult ? (MultiCoreResult) result : null;
+                out.writeByte(result instanceof IOResult ? IO : multi != null ? MULTI_CORE : PLAIN);
+                out.writeInt(multi != null ? multi.coreTimelines.length : 1);
+                out.writeInt(multi != null ? multi.finishTime : 0);
+                result.save(out);
+                out.writeDouble(result.averageWaitingTime);
+                out.writeDouble(result.averageTurnaroundTime);
+            }
+            Files.move(partial, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            forget(key);
+            long size = Files.size(file);
+            entries.put(key, size);
+            bytes += size;
+        } catch (IOException e) {
+            throw new UncheckedIOException(file.toString(), e);
+        }
+        evict();
+    }
+
+    private void evict() {
+        Iterator<Map.Entry<String, Long>> eldest = entries.entrySet().iterator();
+        while (bytes > maxBytes && eldest.hasNext()) {
+            Map.Entry<String, Long> entry = eldest.next();
+            try {
+                Files.deleteIfExists(file(entry.getKey()));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            bytes -= entry.getValue();
+            eldest.remove();
+        }
+    }
+
+    private void forget(String key) {
+        Long size = entries.remove(key);
+        if (size != null) bytes -= size;
+    }
+
+    private Path file(String key) {
+        return dir.resolve(key + ".result");
+    }
+
+    // digest of the simulator's class files: the jar, or every class under the classes directory
+    private static String engineVersion() {
+        try {
+            Path code = Paths.get(ResultCache.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+            MessageDigest digest = sha256();
+            if (Files.isDirectory(code)) {
+                List<Path> classes;
+                try (Stream<Path> walk = Files.walk(code)) {
+                    classes = walk.filter(p -> p.toString().endsWith(".class")).sorted().collect(Collectors.toList());
+                }
+                for (Path c : classes) {
+                    digest.update(code.relativize(c).toString().getBytes(StandardCharsets.UTF_8));
+                    digest.update(Files.readAllBytes(c));
+                }
+            } else {
+                digest.update(Files.readAllBytes(code));
+            }
+            return hex(digest.digest());
+        } catch (IOException | URISyntaxException e) {
+            throw new IllegalStateException("Cannot fingerprint the simulator classes", e);
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String hex(byte[] bytes) {
+        StringBuilder out = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes)
+            out.append(Character.forDigit((b >> 4) & 15, 16)).append(Character.forDigit(b & 15, 16));
+        return out.toString();
+    }
+}
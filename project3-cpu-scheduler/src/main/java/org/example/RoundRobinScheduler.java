@@ -0,0 +1,79 @@
+package org.example;
+
+// =====================================================
+// Round Robin
+// =====================================================
+class RoundRobinScheduler implements Scheduler {
+    int quantum;
+    int contextSwitch;
+
+    public RoundRobinScheduler(int quantum, int contextSwitch) {
+        this.quantum = quantum;
+        this.contextSwitch = contextSwitch;
+    }
+
+    @Override
+    public void run(Workload w, SimulationListener listener) {
+        listener = Instrumentation.attach(this, listener);
+        listener.onStart(w);
+
+        // private runtime state over the shared workload, ids taken in arrival order
+        int n = w.size();
+        int[] order = w.arrivalOrder();
+        int[] remaining = new int[n];
+        for (int i = 0; i < n; i++)
+            remaining[i] = w.burst(i);
+
+        IntQueue readyQueue = new IntQueue(16);
+        int time = 0;
+        int index = 0;
+        int completed = 0;
+
+        while (completed < n) {
+            // Add newly arrived processes
+            while (index < n && w.arrival(order[index]) <= time) {
+                readyQueue.add(order[index]);
+                index++;
+            }
+
+            // CPU idle: jump to the next arrival
+            if (readyQueue.isEmpty()) {
+                time = w.arrival(order[index]);
+                continue;
+            }
+
+            int p = readyQueue.poll();
+
+            // Keep the original execution order logic (record every run)
+            listener.onDispatch(p, time);
+
+            int runTime = Math.min(quantum, remaining[p]);
+            remaining[p] -= runTime;
+            time += runTime;
+
+            // Add newly arrived processes during execution
+            while (index < n && w.arrival(order[index]) <= time) {
+                readyQueue.add(order[index]);
+                index++;
+            }
+
+            if (remaining[p] > 0) {
+                listener.onPreempt(p, time);
+                readyQueue.add(p);
+            } else {
+                int turnaroundTime = time - w.arrival(p);
+                int waitingTime = turnaroundTime - w.burst(p);
+
+                listener.onComplete(p, time, waitingTime, turnaroundTime);
+                completed++;
+            }
+
+            if (!readyQueue.isEmpty()) {
+                listener.onContextSwitch(time, time + contextSwitch);
+                time += contextSwitch;
+            }
+        }
+
+        listener.onFinish(time);
+    }
+}
@@ -0,0 +1,73 @@
+package org.example;
+
+// =====================================================
+// SJF Preemptive
+// =====================================================
+class SJFScheduler implements Scheduler {
+    int contextSwitch;
+
+    public SJFScheduler(int contextSwitch) {
+        this.contextSwitch = contextSwitch;
+    }
+
+    @Override
+    public void run(Workload w, SimulationListener listener) {
+        listener = Instrumentation.attach(this, listener);
+        listener.onStart(w);
+
+        // the only per-process state: time still to run
+        int n = w.size();
+        int[] remaining = new int[n];
+        for (int i = 0; i < n; i++)
+            remaining[i] = w.burst(i);
+
+        // scan in arrival order (a stable sort), so ties go to the earlier arrival
+        int[] order = w.arrivalOrder();
+
+        int time = 0;
+        int completed = 0;
+        int last = -1;
+
+        while (completed < n) {
+            int shortest = -1;
+
+            for (int id : order) {
+                if (w.arrival(id) <= time && remaining[id] > 0) {
+                    if (shortest < 0 || remaining[id] < remaining[shortest]) {
+                        shortest = id;
+                    }
+                }
+            }
+
+            if (shortest < 0) {
+                time++;
+                continue;
+            }
+
+            if (shortest != last) {
+                if (last >= 0) {
+                    if (remaining[last] > 0)
+                        listener.onPreempt(last, time);
+                    listener.onContextSwitch(time, time + contextSwitch);
+                    time += contextSwitch;
+                }
+                listener.onDispatch(shortest, time);
+            }
+
+            remaining[shortest]--;
+            time++;
+
+            if (remaining[shortest] == 0) {
+                int turnaroundTime = time - w.arrival(shortest);
+                int waitingTime = turnaroundTime - w.burst(shortest);
+
+                listener.onComplete(shortest, time, waitingTime, turnaroundTime);
+                completed++;
+            }
+
+            last = shortest;
+        }
+
+        listener.onFinish(time);
+    }
+}
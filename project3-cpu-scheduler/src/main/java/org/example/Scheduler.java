@@ -0,0 +1,20 @@
+package org.example;
+import java.util.*;
+
+// =====================================================
+// Scheduler Interface
+// =====================================================
+interface Scheduler {
+    // runs the whole workload, pushing every event to listener as it happens
+    void run(Workload workload, SimulationListener listener);
+
+    default SimulationResult simulate(Workload workload) {
+        SimulationResult result = new SimulationResult(workload::name);
+        run(workload, result);
+        return result;
+    }
+
+    default SimulationResult simulate(List<Process> processes) {
+        return simulate(ProcessTable.from(processes));
+    }
+}
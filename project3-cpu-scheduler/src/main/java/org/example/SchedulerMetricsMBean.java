@@ -0,0 +1,45 @@
+package org.example;
+
+// =====================================================
+// SchedulerMetricsMBean (JMX view of one scheduler class)
+// =====================================================
+// Totals over every instrumented run of the scheduler in this JVM; times are
+// simulated time units. Public because JMX only introspects public
+// interfaces. See Instrumentation.
+public interface SchedulerMetricsMBean {
+    long getRuns();
+
+    // started and not yet finished
+    long getActiveRuns();
+
+    long getDispatches();
+
+    long getPreemptions();
+
+    long getCompletions();
+
+    long getContextSwitches();
+
+    long getContextSwitchTime();
+
+    // time some process was running (summed over cores)
+    long getBusyTime();
+
+    // time nothing was running and no context switch was in progress
+    long getIdleTime();
+
+    long getSimulatedTime();
+
+    // processes waiting to run, summed over the active runs
+    long getReadyQueueDepth();
+
+    long getMaxReadyQueueDepth();
+
+    long getAgingAdjustments();
+
+    // AG quantum updates, not counting each process's initial quantum
+    long getQuantumAdjustments();
+
+    // zeroes the totals; active runs and their ready queues are kept
+    void reset();
+}
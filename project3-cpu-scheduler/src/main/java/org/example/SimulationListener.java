@@ -0,0 +1,44 @@
+package org.example;
+
+// =====================================================
+// SimulationListener (events pushed by a running scheduler)
+// =====================================================
+// Process ids are Workload ids. Every dispatch is closed by exactly one
+// onPreempt or onComplete before the next dispatch, so (dispatch, end)
+// pairs are the Gantt segments. Nothing is kept by the scheduler once an
+// event is delivered; a listener decides what to remember.
+interface SimulationListener {
+
+    default void onStart(Workload workload) {}
+
+    // id starts running at time (any context switch has already been paid)
+    default void onDispatch(int id, int time) {}
+
+    // id stops running at time without finishing (quantum used up, a better job, aging)
+    default void onPreempt(int id, int time) {}
+
+    // id's CPU burst ends at time and it queues for device (IOScheduler); a
+    // listener that does not tell the two apart sees a preemption
+    default void onBlock(int id, int time, int device) {
+        onPreempt(id, time);
+    }
+
+    // id holds device over [from, to); its next CPU burst is ready at to
+    default void onIO(int id, int device, int from, int to) {}
+
+    // id finished at time
+    default void onComplete(int id, int time, int waitingTime, int turnaroundTime) {}
+
+    // the CPU spends [from, to) switching between processes
+    default void onContextSwitch(int from, int to) {}
+
+    // id's AG quantum is now quantum (also sent once per process, at time 0, with its initial quantum)
+    default void onQuantumChange(int id, int time, int quantum) {}
+
+    // id waited a full aging interval (or more) and now has priority (never below 1);
+    // only sent when aging lowered it, never for a process already at 1
+    default void onAging(int id, int time, int priority) {}
+
+    // every process has completed
+    default void onFinish(int time) {}
+}
@@ -0,0 +1,165 @@
+package org.example;
+import java.util.*;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.function.IntFunction;
+
+// =====================================================
+// SimulationResult
+// =====================================================
+// The listener that remembers everything: timeline, per-process results in
+// completion order (or input order, see inputOrder), AG quantum history, the
+// averages and latency percentiles.
+class SimulationResult implements SimulationListener, Snapshot {
+    // who ran when; executionOrder is a view with one name per timeline segment
+    final Timeline timeline;
+    final List<String> executionOrder;
+    List<ProcessResult> processResults = new ArrayList<>();
+    private final IntQueue resultIds = new IntQueue(16); // id of each processResults entry
+
+    // list processResults by id once the run finishes, as PriorityScheduler always has
+    boolean inputOrder;
+
+    Map<String, List<Integer>> quantumHistory = new HashMap<>();
+
+    double averageWaitingTime;
+    double averageTurnaroundTime;
+
+    int contextSwitches;
+
+    // waiting / turnaround / response time histograms
+    final LatencyListener latency = new LatencyListener();
+
+    private final IntFunction<String> names;
+    double totalWaitingTime;
+    double totalTurnaroundTime;
+
+    SimulationResult(IntFunction<String> names) {
+        this.names = names;
+        this.timeline = new Timeline(names);
+        this.executionOrder = timeline.executionOrder();
+    }
+
+    @Override
+    public void onStart(Workload workload) {
+        latency.onStart(workload);
+    }
+
+    @Override
+    public void onDispatch(int id, int time) {
+        timeline.dispatch(id, time);
+        latency.onDispatch(id, time);
+    }
+
+    @Override
+    public void onPreempt(int id, int time) {
+        timeline.runUntil(time);
+    }
+
+    @Override
+    public void onComplete(int id, int time, int waitingTime, int turnaroundTime) {
+        complete(timeline, id, time, waitingTime, turnaroundTime);
+    }
+
+    // on is the timeline id was running on (one per core in a multi-core run)
+    void complete(Timeline on, int id, int time, int waitingTime, int turnaroundTime) {
+        // a zero-burst process completes without ever being dispatched
+        if (on.size() > 0 && on.pid(on.size() - 1) == id)
+            on.runUntil(time);
+        processResults.add(new ProcessResult(names.apply(id), waitingTime, turnaroundTime));
+        resultIds.add(id);
+        latency.onComplete(id, time, waitingTime, turnaroundTime);
+        totalWaitingTime += waitingTime;
+        totalTurnaroundTime += turnaroundTime;
+    }
+
+    @Override
+    public void onContextSwitch(int from, int to) {
+        contextSwitches++;
+    }
+
+    @Override
+    public void onQuantumChange(int id, int time, int quantum) {
+        quantumHistory.computeIfAbsent(names.apply(id), name -> new ArrayList<>()).add(quantum);
+    }
+
+    // everything but the averages, which onFinish works out. Grows with the
+    // run (timeline, per-process results); SummaryListener and
+    // LatencyListener are the constant-size choices for very long runs.
+    @Override
+    public void save(DataOutput out) throws IOException {
+        timeline.save(out);
+        out.writeInt(processResults.size());
+        for (int i = 0; i < processResults.size(); i++) {
+            ProcessResult r = processResults.get(i);
+            out.writeInt(resultIds.get(i));
+            out.writeUTF(r.name);
+            out.writeInt(r.waitingTime);
+            out.writeInt(r.turnaroundTime);
+        }
+        out.writeInt(quantumHistory.size());
+        for (Map.Entry<String, List<Integer>> e : quantumHistory.entrySet()) {
+            out.writeUTF(e.getKey());
+            out.writeInt(e.getValue().size());
+            for (int q : e.getValue())
+                out.writeInt(q);
+        }
+        out.writeInt(contextSwitches);
+        out.writeDouble(totalWaitingTime);
+        out.writeDouble(totalTurnaroundTime);
+        latency.save(out);
+    }
+
+    @Override
+    public void restore(DataInput in) throws IOException {
+        timeline.restore(in);
+        processResults.clear();
+        resultIds.clear();
+        for (int n = in.readInt(); n > 0; n--) {
+            resultIds.add(in.readInt());
+            processResults.add(new ProcessResult(in.readUTF(), in.readInt(), in.readInt()));
+        }
+        quantumHistory.clear();
+        for (int n = in.readInt(); n > 0; n--) {
+            List<Integer> history = new ArrayList<>();
+            quantumHistory.put(in.readUTF(), history);
+            for (int k = in.readInt(); k > 0; k--)
+                history.add(in.readInt());
+        }
+        contextSwitches = in.readInt();
+        totalWaitingTime = in.readDouble();
+        totalTurnaroundTime = in.readDouble();
+        latency.restore(in);
+    }
+
+    @Override
+    public void onFinish(int time) {
+        if (inputOrder) sortById();
+        int count = processResults.size();
+        if (count > 0) {
+            averageWaitingTime = totalWaitingTime / count;
+            averageTurnaroundTime = totalTurnaroundTime / count;
+        }
+    }
+
+    // ids are distinct, so each result goes straight to its slot
+    private void sortById() {
+        int count = processResults.size();
+        int slots = 0;
+        for (int i = 0; i < count; i++)
+            slots = Math.max(slots, resultIds.get(i) + 1);
+        ProcessResult[] byId = new ProcessResult[slots];
+        for (int i = 0; i < count; i++)
+            byId[resultIds.get(i)] = processResults.get(i);
+
+        processResults.clear();
+        resultIds.clear();
+        for (int id = 0; id < slots; id++) {
+            if (byId[id] != null) {
+                processResults.add(byId[id]);
+                resultIds.add(id);
+            }
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package org.example;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// =====================================================
+// SimulationServer (warm JVM, scenarios over local HTTP)
+// =====================================================
+// POST /simulate?scheduler=RR takes a scenario in the test-file layout
+// (read by StreamingWorkloadLoader) and answers with the result as JSON, in
+// the expectedOutput layout. contextSwitch, rrQuantum and agingInterval in
+// the query override the scenario's. GET /health reports the load.
+//
+// Admission: at most `simulations` runs at once (one per core by default)
+// and at most `queued` more waiting for a slot; anything past that gets 503
+// with Retry-After at once, its body skipped unparsed. Handlers run on a
+// fixed pool just large enough for every admitted request, plus a few
+// threads so that rejections and health checks are answered while all
+// admitted requests are busy.
+class SimulationServer {
+    private static final int SPARE_THREADS = 4;
+
+    private final HttpServer server;
+    private final ExecutorService handlers;
+    private final Semaphore running;
+    private final AtomicInteger admitted = new AtomicInteger();
+    private final int simulations;
+    private final int limit;
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    public SimulationServer(InetSocketAddress address, int simulations, int queued) throws IOException {
+        if (simulations < 1) throw new IllegalArgumentException("simulations must be at least 1");
+        if (queued < 0) throw new IllegalArgumentException("queued must not be negative");
+        this.simulations = simulations;
+        this.limit = simulations + queued;
+        this.running = new Semaphore(simulations, true);
+        this.handlers = Executors.newFixedThreadPool(limit + SPARE_THREADS);
+        this.server = HttpServer.create(address, limit + SPARE_THREADS);
+        server.setExecutor(handlers);
+        server.createContext("/simulate", this::simulate);
+        server.createContext("/health", this::health);
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    // waits up to a second for exchanges in progress
+    public void stop() {
+        server.stop(1);
+        handlers.shutdown();
+        try {
+            handlers.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    private void simulate(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!exchange.getRequestMethod().equals("POST")) {
+                send(exchange, 405, error("POST a scenario to /simulate?scheduler=..."));
+                return;
+            }
+            if (admitted.incrementAndGet() > limit) {
+                admitted.decrementAndGet();
+                // read past the body unparsed: closing with it unread resets the client's connection
+                try (InputStream body = exchange.getRequestBody()) {
+                    body.transferTo(OutputStream.nullOutputStream());
+                }
+                exchange.getResponseHeaders().set("Retry-After", "1");
+                send(exchange, 503, error("Too many simulations in progress"));
+                return;
+            }
+            // the slot is given back before the reply, so a client's next request finds it free
+            int status;
+            byte[] reply;
+            try {
+                Map<String, String> query = query(exchange.getRequestURI().getRawQuery());
+                TableInput input;
+                try (InputStream body = exchange.getRequestBody()) {
+                    input = StreamingWorkloadLoader.load(body);
+                }
+                if (query.containsKey("contextSwitch")) input.contextSwitch = Integer.parseInt(query.get("contextSwitch"));
+                if (query.containsKey("rrQuantum")) input.rrQuantum = Integer.parseInt(query.get("rrQuantum"));
+                if (query.containsKey("agingInterval")) input.agingInterval = Integer.parseInt(query.get("agingInterval"));
+                BatchRunner.BatchInput in = BatchRunner.BatchInput.of(input);
+                Scheduler scheduler = in.scheduler(query.getOrDefault("scheduler", ""));
+
+                running.acquire();
+                SimulationResult result;
+                try {
+                    result = scheduler.simulate(in.workload);
+                } finally {
+                    running.release();
+                }
+                status = 200;
+                reply = mapper.writeValueAsBytes(json(result));
+            } catch (JsonProcessingException e) {
+                status = 400;
+                reply = error("Bad scenario: " + e.getOriginalMessage());
+            } catch (IllegalArgumentException e) {
+                status = 400;
+                reply = error(e.getMessage());
+            } catch (RuntimeException e) {
+                status = 500;
+                reply = error(e.toString());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                status = 503;
+                reply = error("Server stopping");
+            } finally {
+                admitted.decrementAndGet();
+            }
+            send(exchange, status, reply);
+        }
+    }
+
+    private void health(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            Map<String, Object> status = new LinkedHashMap<>();
+            int inFlight = admitted.get();
+            int busy = simulations - running.availablePermits();
+            status.put("running", busy);
+            status.put("waiting", Math.max(0, inFlight - busy));
+            status.put("simulations", simulations);
+            status.put("limit", limit);
+            send(exchange, 200, mapper.writeValueAsBytes(status));
+        }
+    }
+
+    // the expectedOutput layout of the test files
+    static Map<String, Object> json(SimulationResult r) {
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("executionOrder", r.executionOrder);
+        out.put("processResults", r.processResults);
+        out.put("averageWaitingTime", r.averageWaitingTime);
+        out.put("averageTurnaroundTime", r.averageTurnaroundTime);
+        out.put("contextSwitches", r.contextSwitches);
+        if (!r.quantumHistory.isEmpty()) out.put("quantumHistory", r.quantumHistory);
+        return out;
+    }
+
+    private byte[] error(String message) throws JsonProcessingException {
+        return mapper.writeValueAsBytes(Map.of("error", String.valueOf(message)));
+    }
+
+    private static void send(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static Map<String, String> query(String raw) {
+        Map<String, String> query = new HashMap<>();
+        if (raw == null) return query;
+        for (String pair : raw.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq < 0) continue;
+            query.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8),
+                    URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+        }
+        return query;
+    }
+
+    // usage: SimulationServer [port] [--simulations N] [--queue N]
+    public static void main(String[] args) throws IOException {
+        int port = 8080;
+        int simulations = Runtime.getRuntime().availableProcessors();
+        int queued = -1;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--simulations": simulations = Integer.parseInt(args[++i]); break;
+                case "--queue": queued = Integer.parseInt(args[++i]); break;
+                default: port = Integer.parseInt(args[i]);
+            }
+        }
+        if (queued < 0) queued = 4 * simulations;
+
+        // loopback only: this is a local tool, not a public service
+        SimulationServer server = new SimulationServer(
+                new InetSocketAddress(InetAddress.getLoopbackAddress(), port), simulations, queued);
+        server.start();
+        System.out.printf("Listening on http://%s:%d/simulate (%d simulations at once, %d queued)%n",
+                InetAddress.getLoopbackAddress().getHostAddress(), server.port(), simulations, queued);
+    }
+}
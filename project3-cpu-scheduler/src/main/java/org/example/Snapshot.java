@@ -0,0 +1,14 @@
+package org.example;
+import java.io.*;
+
+// =====================================================
+// Snapshot (state that survives a checkpoint)
+// =====================================================
+// Listeners handed to a checkpointed run implement this. restore() is called
+// on a fresh instance after onStart(), and must leave it exactly as save()
+// found the original.
+interface Snapshot {
+    void save(DataOutput out) throws IOException;
+
+    void restore(DataInput in) throws IOException;
+}
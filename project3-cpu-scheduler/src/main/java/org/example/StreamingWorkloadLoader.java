@@ -0,0 +1,145 @@
+package org.example;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+// =====================================================
+// Streaming workload loader
+// =====================================================
+// Walks a test file with Jackson's token API and writes every process
+// straight into a ProcessTable, so no ProcessJSON / Process objects are
+// created. Accepts the TestCase and AGTestCase layouts ({"input": {...}})
+// as well as a bare StandardInput / AGInput object; expectedOutput and any
+// unknown fields are skipped without being materialized.
+class StreamingWorkloadLoader {
+
+    private static final JsonFactory FACTORY = new JsonFactory();
+
+    public static TableInput load(File file) throws IOException {
+        try (JsonParser parser = FACTORY.createParser(file)) {
+            return read(parser);
+        }
+    }
+
+    public static TableInput load(InputStream in) throws IOException {
+        try (JsonParser parser = FACTORY.createParser(in)) {
+            return read(parser);
+        }
+    }
+
+    private static TableInput read(JsonParser parser) throws IOException {
+        TableInput input = new TableInput();
+        expect(parser, parser.nextToken(), JsonToken.START_OBJECT);
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            if (field.equals("input")) {
+                expect(parser, parser.currentToken(), JsonToken.START_OBJECT);
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String inner = parser.currentName();
+                    parser.nextToken();
+                    readInputField(parser, inner, input);
+                }
+            } else {
+                readInputField(parser, field, input);
+            }
+        }
+        return input;
+    }
+
+    // one field of StandardInput / AGInput; the parser sits on its value
+    private static void readInputField(JsonParser parser, String field, TableInput input) throws IOException {
+        switch (field) {
+            case "contextSwitch":
+                input.contextSwitch = parser.getIntValue();
+                break;
+            case "rrQuantum":
+                input.rrQuantum = parser.getIntValue();
+                break;
+            case "agingInterval":
+                input.agingInterval = parser.getIntValue();
+                break;
+            case "mlfqQuanta":
+                input.mlfqQuanta = readInts(parser);
+                break;
+            case "mlfqBoostInterval":
+                input.mlfqBoostInterval = parser.getIntValue();
+                break;
+            case "cfsTargetLatency":
+                input.cfsTargetLatency = parser.getIntValue();
+                break;
+            case "cfsMinGranularity":
+                input.cfsMinGranularity = parser.getIntValue();
+                break;
+            case "processes":
+                readProcesses(parser, input.processes);
+                break;
+            default:
+                parser.skipChildren();
+        }
+    }
+
+    private static void readProcesses(JsonParser parser, ProcessTable table) throws IOException {
+        expect(parser, parser.currentToken(), JsonToken.START_ARRAY);
+
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            String name = null;
+            int arrival = 0, burst = 0, priority = 0, quantum = 0;
+            int[] bursts = null;
+            String[] devices = null;
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                switch (field) {
+                    case "name": name = parser.getText(); break;
+                    case "arrival": arrival = parser.getIntValue(); break;
+                    case "burst": burst = parser.getIntValue(); break;
+                    case "priority": priority = parser.getIntValue(); break;
+                    case "quantum": quantum = parser.getIntValue(); break;
+                    case "bursts": bursts = readInts(parser); break;
+                    case "devices": devices = readStrings(parser); break;
+                    default: parser.skipChildren();
+                }
+            }
+            if (bursts == null) table.add(name, arrival, burst, priority, quantum);
+            else table.add(name, arrival, bursts, devices, priority, quantum);
+        }
+        expect(parser, parser.currentToken(), JsonToken.END_ARRAY);
+    }
+
+    private static int[] readInts(JsonParser parser) throws IOException {
+        expect(parser, parser.currentToken(), JsonToken.START_ARRAY);
+        int[] values = new int[4];
+        int count = 0;
+        while (parser.nextToken() == JsonToken.VALUE_NUMBER_INT) {
+            if (count == values.length) values = Arrays.copyOf(values, count * 2);
+            values[count++] = parser.getIntValue();
+        }
+        expect(parser, parser.currentToken(), JsonToken.END_ARRAY);
+        return Arrays.copyOf(values, count);
+    }
+
+    private static String[] readStrings(JsonParser parser) throws IOException {
+        expect(parser, parser.currentToken(), JsonToken.START_ARRAY);
+        String[] values = new String[4];
+        int count = 0;
+        while (parser.nextToken() == JsonToken.VALUE_STRING) {
+            if (count == values.length) values = Arrays.copyOf(values, count * 2);
+            values[count++] = parser.getText();
+        }
+        expect(parser, parser.currentToken(), JsonToken.END_ARRAY);
+        return Arrays.copyOf(values, count);
+    }
+
+    private static void expect(JsonParser parser, JsonToken actual, JsonToken expected) throws IOException {
+        if (actual != expected)
+            throw new JsonParseException(parser, "Expected " + expected + " but found " + actual);
+    }
+}
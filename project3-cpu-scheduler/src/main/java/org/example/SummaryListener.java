@@ -0,0 +1,72 @@
+package org.example;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+// =====================================================
+// SummaryListener (aggregates only, constant memory)
+// =====================================================
+class SummaryListener implements SimulationListener, Snapshot {
+    long completed;
+    long dispatches;
+    long contextSwitches;
+    long totalWaitingTime;
+    long totalTurnaroundTime;
+    int maxWaitingTime;
+    int maxTurnaroundTime;
+    int finishTime;
+
+    @Override
+    public void onDispatch(int id, int time) {
+        dispatches++;
+    }
+
+    @Override
+    public void onComplete(int id, int time, int waitingTime, int turnaroundTime) {
+        completed++;
+        totalWaitingTime += waitingTime;
+        totalTurnaroundTime += turnaroundTime;
+        maxWaitingTime = Math.max(maxWaitingTime, waitingTime);
+        maxTurnaroundTime = Math.max(maxTurnaroundTime, turnaroundTime);
+    }
+
+    @Override
+    public void onContextSwitch(int from, int to) {
+        contextSwitches++;
+    }
+
+    @Override
+    public void onFinish(int time) {
+        finishTime = time;
+    }
+
+    @Override
+    public void save(DataOutput out) throws IOException {
+        out.writeLong(completed);
+        out.writeLong(dispatches);
+        out.writeLong(contextSwitches);
+        out.writeLong(totalWaitingTime);
+        out.writeLong(totalTurnaroundTime);
+        out.writeInt(maxWaitingTime);
+        out.writeInt(maxTurnaroundTime);
+    }
+
+    @Override
+    public void restore(DataInput in) throws IOException {
+        completed = in.readLong();
+        dispatches = in.readLong();
+        contextSwitches = in.readLong();
+        totalWaitingTime = in.readLong();
+        totalTurnaroundTime = in.readLong();
+        maxWaitingTime = in.readInt();
+        maxTurnaroundTime = in.readInt();
+    }
+
+    public double averageWaitingTime() {
+        return completed == 0 ? 0 : (double) totalWaitingTime / completed;
+    }
+
+    public double averageTurnaroundTime() {
+        return completed == 0 ? 0 : (double) totalTurnaroundTime / completed;
+    }
+}
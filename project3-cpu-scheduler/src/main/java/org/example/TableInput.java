@@ -0,0 +1,15 @@
+package org.example;
+
+// =====================================================
+// TableInput (StandardInput / AGInput backed by a ProcessTable)
+// =====================================================
+class TableInput {
+    public int contextSwitch;
+    public int rrQuantum;
+    public int agingInterval;
+    public int[] mlfqQuanta;           // null when not given
+    public int mlfqBoostInterval = -1; // negative when not given
+    public int cfsTargetLatency = -1;  // negative when not given
+    public int cfsMinGranularity = -1;
+    public ProcessTable processes = new ProcessTable(16);
+}
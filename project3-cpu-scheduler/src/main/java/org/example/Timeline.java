@@ -0,0 +1,111 @@
+package org.example;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.*;
+import java.util.function.IntFunction;
+
+// =====================================================
+// Timeline (run-length encoded Gantt chart)
+// =====================================================
+// Who held the CPU and when, as parallel int arrays of (process id, start,
+// end). Each dispatch opens one segment and everything the process runs
+// until the next dispatch is merged into it, so a tick-based engine costs
+// the same as an event-driven one. Ids are the scheduler's own process ids;
+// names are only looked up when executionOrder is read.
+class Timeline {
+    private final IntFunction<String> names;
+    private int[] pid = new int[16];
+    private int[] start = new int[16];
+    private int[] end = new int[16];
+    private int size;
+
+    private final List<String> executionOrder = new ExecutionOrder();
+
+    public Timeline(IntFunction<String> names) {
+        this.names = names;
+    }
+
+    // process id starts running at time (after any context switch)
+    public void dispatch(int id, int time) {
+        if (size == pid.length) grow();
+        pid[size] = id;
+        start[size] = time;
+        end[size] = time;
+        size++;
+    }
+
+    // the last dispatched process keeps running until time
+    public void runUntil(int time) {
+        end[size - 1] = time;
+    }
+
+    // id ran over [from, to); continues the last segment if it is the same process with no gap
+    public void run(int id, int from, int to) {
+        if (size == 0 || pid[size - 1] != id || end[size - 1] != from)
+            dispatch(id, from);
+        runUntil(to);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int pid(int i) {
+        return pid[i];
+    }
+
+    public int start(int i) {
+        return start[i];
+    }
+
+    public int end(int i) {
+        return end[i];
+    }
+
+    public String name(int i) {
+        return names.apply(pid[i]);
+    }
+
+    // one name per segment, built on access
+    public List<String> executionOrder() {
+        return executionOrder;
+    }
+
+    void save(DataOutput out) throws IOException {
+        out.writeInt(size);
+        for (int i = 0; i < size; i++) {
+            out.writeInt(pid[i]);
+            out.writeInt(start[i]);
+            out.writeInt(end[i]);
+        }
+    }
+
+    void restore(DataInput in) throws IOException {
+        size = 0;
+        for (int n = in.readInt(); n > 0; n--) {
+            dispatch(in.readInt(), in.readInt());
+            runUntil(in.readInt());
+        }
+    }
+
+    private void grow() {
+        int capacity = pid.length + (pid.length >> 1);
+        pid = Arrays.copyOf(pid, capacity);
+        start = Arrays.copyOf(start, capacity);
+        end = Arrays.copyOf(end, capacity);
+    }
+
+    private class ExecutionOrder extends AbstractList<String> implements RandomAccess {
+        @Override
+        public String get(int index) {
+            Objects.checkIndex(index, size);
+            return name(index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
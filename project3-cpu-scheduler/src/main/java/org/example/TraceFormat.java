@@ -0,0 +1,21 @@
+package org.example;
+
+// =====================================================
+// Binary trace format
+// =====================================================
+// Little-endian file laid out as
+//
+//   header   32 bytes  magic, version, count, contextSwitch, rrQuantum,
+//                      agingInterval (ints), reserved (long)
+//   records  24 bytes  arrival, burst, priority, quantum (ints),
+//                      nameOffset (long, into the string table)
+//   strings            UTF-8 names back to back; a name ends where the
+//                      next record's name starts (the last one at EOF)
+final class TraceFormat {
+    static final int MAGIC = 0x54555043; // "CPUT"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 32;
+    static final int RECORD_BYTES = 24;
+
+    private TraceFormat() {}
+}
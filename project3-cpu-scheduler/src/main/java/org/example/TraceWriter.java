@@ -0,0 +1,134 @@
+package org.example;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+// =====================================================
+// TraceWriter (streaming writer for the binary trace format)
+// =====================================================
+// Records go straight to the output file and names to a temporary string
+// table, which is appended on close; memory use does not depend on the
+// number of processes.
+class TraceWriter implements Closeable {
+
+    private static final int BUFFER_BYTES = 1 << 16;
+
+    private final Path path;
+    private final Path stringsPath;
+    private final FileChannel out;
+    private final FileChannel stringsOut;
+    private final ByteBuffer recordBuffer = ByteBuffer.allocateDirect(BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+    private final ByteBuffer stringBuffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+
+    private int count;
+    private long stringBytes;
+
+    public int contextSwitch;
+    public int rrQuantum;
+    public int agingInterval;
+
+    public TraceWriter(Path path) throws IOException {
+        this.path = path;
+        this.stringsPath = Files.createTempFile(path.toAbsolutePath().getParent(), "trace", ".strings");
+        this.out = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        this.stringsOut = FileChannel.open(stringsPath, StandardOpenOption.WRITE, StandardOpenOption.READ);
+        out.position(TraceFormat.HEADER_BYTES);
+    }
+
+    public void add(String name, int arrival, int burst, int priority, int quantum) throws IOException {
+        if (count == Integer.MAX_VALUE)
+            throw new IOException("Too many processes for one trace");
+
+        if (recordBuffer.remaining() < TraceFormat.RECORD_BYTES)
+            drain(recordBuffer, out);
+        recordBuffer.putInt(arrival).putInt(burst).putInt(priority).putInt(quantum).putLong(stringBytes);
+
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        for (int i = 0; i < bytes.length; ) {
+            if (!stringBuffer.hasRemaining())
+                drain(stringBuffer, stringsOut);
+            int n = Math.min(bytes.length - i, stringBuffer.remaining());
+            stringBuffer.put(bytes, i, n);
+            i += n;
+        }
+        stringBytes += bytes.length;
+        count++;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            drain(recordBuffer, out);
+            drain(stringBuffer, stringsOut);
+
+            // string table goes right after the last record
+            long position = 0;
+            while (position < stringBytes)
+                position += stringsOut.transferTo(position, stringBytes - position, out);
+
+            ByteBuffer header = ByteBuffer.allocate(TraceFormat.HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(TraceFormat.MAGIC).putInt(TraceFormat.VERSION).putInt(count)
+                    .putInt(contextSwitch).putInt(rrQuantum).putInt(agingInterval).putLong(0);
+            header.flip();
+            out.write(header, 0);
+        } finally {
+            out.close();
+            stringsOut.close();
+            Files.deleteIfExists(stringsPath);
+        }
+    }
+
+    public static void write(Path path, TableInput input) throws IOException {
+        ProcessTable t = input.processes;
+        if (!t.devices().isEmpty())
+            throw new IllegalArgumentException("A trace holds CPU-only processes; " + path + " would lose the I/O bursts");
+
+        try (TraceWriter writer = new TraceWriter(path)) {
+            writer.contextSwitch = input.contextSwitch;
+            writer.rrQuantum = input.rrQuantum;
+            writer.agingInterval = input.agingInterval;
+
+            for (int i = 0; i < t.size(); i++)
+                writer.add(t.name(i), t.arrival(i), t.burst(i), t.priority(i), t.quantum(i));
+        }
+    }
+
+    private static void drain(ByteBuffer buffer, FileChannel channel) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining())
+            channel.write(buffer);
+        buffer.clear();
+    }
+
+    // converts JSON test files (TestCase / AGTestCase layout) into .trace files next to them
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.out.println("Usage: TraceWriter <file.json | folder> ...");
+            return;
+        }
+
+        for (String arg : args) {
+            File source = new File(arg);
+            File[] files = source.isDirectory()
+                    ? source.listFiles((dir, name) -> name.endsWith(".json"))
+                    : new File[]{source};
+            if (files == null) continue;
+
+            for (File file : files) {
+                String name = file.getName().replaceAll("\\.json$", "") + ".trace";
+                Path target = Paths.get(file.getAbsoluteFile().getParent(), name);
+                write(target, StreamingWorkloadLoader.load(file));
+                System.out.println(file + " -> " + target);
+            }
+        }
+    }
+}
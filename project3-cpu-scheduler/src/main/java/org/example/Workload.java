@@ -0,0 +1,66 @@
+package org.example;
+import java.util.*;
+
+// =====================================================
+// Workload (read-only view of a process set)
+// =====================================================
+// Everything a scheduler reads about its input. The data may live on the
+// heap (ProcessTable) or off it (MappedTrace); schedulers keep their mutable
+// state (remaining time, aged priority, quantum) in their own arrays.
+//
+// A process may alternate CPU and I/O bursts: cpuBursts(id) CPU bursts with
+// an I/O burst on some device between each pair. burst(id) is always the
+// total CPU time, which is all the CPU-only schedulers look at; IOScheduler
+// plays out the sequence.
+interface Workload {
+    int size();
+
+    String name(int id);
+
+    int arrival(int id);
+
+    int burst(int id);
+
+    int priority(int id);
+
+    int quantum(int id);
+
+    // 1 for a CPU-only process
+    default int cpuBursts(int id) {
+        return 1;
+    }
+
+    // id's k-th CPU burst, 0 <= k < cpuBursts(id)
+    default int cpuBurst(int id, int k) {
+        return burst(id);
+    }
+
+    // the I/O burst between id's CPU bursts k and k + 1
+    default int ioBurst(int id, int k) {
+        throw new IndexOutOfBoundsException(name(id) + " does no I/O");
+    }
+
+    // index into devices() of the device that I/O burst uses
+    default int ioDevice(int id, int k) {
+        throw new IndexOutOfBoundsException(name(id) + " does no I/O");
+    }
+
+    // every device some I/O burst uses; empty for a CPU-only workload
+    default List<String> devices() {
+        return List.of();
+    }
+
+    // ids sorted by arrival time, equal arrivals keep id order (same as a stable sort)
+    default int[] arrivalOrder() {
+        int n = size();
+        long[] keys = new long[n];
+        for (int i = 0; i < n; i++)
+            keys[i] = IndexedMinHeap.key(arrival(i), i);
+        Arrays.sort(keys);
+
+        int[] order = new int[n];
+        for (int r = 0; r < n; r++)
+            order[r] = (int) keys[r];
+        return order;
+    }
+}
@@ -0,0 +1,292 @@
+package org.example;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+
+// =====================================================
+// WorkloadGenerator (seeded synthetic workloads)
+// =====================================================
+// Poisson arrivals, Pareto or lognormal bursts, a weighted priority mix and
+// uniform AG quanta. Every value of process i is a pure function of (seed, i)
+// (a SplitMix64 hash, not a shared Random), so the same settings always give
+// the same processes and nothing has to be remembered between them: the
+// Cursor, the JSON writer and the trace writer run in constant memory for
+// any count. workload() hands the same processes to a Scheduler directly.
+class WorkloadGenerator {
+
+    public long seed = 1;
+    public int count = 1000;
+
+    // mean arrivals per time unit
+    public double arrivalRate = 0.1;
+
+    // "pareto": shape = alpha, scale = minimum burst
+    // "lognormal": shape = sigma, scale = median burst
+    public String burstDistribution = "pareto";
+    public double burstShape = 1.5;
+    public double burstScale = 3;
+    public int maxBurst = 1000;
+
+    // priority values and their relative weights
+    public int[] priorities = {1, 2, 3, 4, 5, 6, 7, 8, 9, 10};
+    public double[] priorityWeights = {1, 1, 1, 1, 1, 1, 1, 1, 1, 1};
+
+    // AG initial quantum, uniform in [minQuantum, maxQuantum]
+    public int minQuantum = 1;
+    public int maxQuantum = 8;
+
+    public int contextSwitch = 1;
+    public int rrQuantum = 4;
+    public int agingInterval = 5;
+
+    // independent random streams per process
+    private static final int GAP = 0, BURST = 1, BURST_2 = 2, PRIORITY = 3, QUANTUM = 4;
+
+    // =====================================================
+    // Cursor (one process at a time, nothing retained)
+    // =====================================================
+    class Cursor {
+        int id = -1;
+        int arrival;
+        int burst;
+        int priority;
+        int quantum;
+        private double time;
+        private final double[] cumulative = cumulativeWeights();
+
+        boolean next() {
+            if (id + 1 >= count) return false;
+            id++;
+            if (id > 0) time += gap(id);
+            if (time > Integer.MAX_VALUE)
+                throw new IllegalStateException("Arrival time overflows int at process " + id
+                        + "; raise arrivalRate or lower count");
+            arrival = (int) time;
+            burst = burst(id);
+            priority = priority(id, cumulative);
+            quantum = quantum(id);
+            return true;
+        }
+
+        String name() {
+            return "P" + (id + 1);
+        }
+    }
+
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    public Iterator<Process> processes() {
+        Cursor cursor = cursor();
+        return new Iterator<>() {
+            private boolean ready = cursor.next();
+
+            public boolean hasNext() {
+                return ready;
+            }
+
+            public Process next() {
+                if (!ready) throw new NoSuchElementException();
+                Process p = new Process(cursor.name(), cursor.arrival, cursor.burst, cursor.priority, cursor.quantum);
+                ready = cursor.next();
+                return p;
+            }
+        };
+    }
+
+    // the generated processes as a Workload; only the arrival times are stored
+    // (a running sum cannot be recomputed per id), everything else is hashed on demand
+    public Workload workload() {
+        int[] arrivals = new int[count];
+        Cursor cursor = cursor();
+        while (cursor.next())
+            arrivals[cursor.id] = cursor.arrival;
+
+        double[] cumulative = cumulativeWeights();
+        return new Workload() {
+            public int size() { return count; }
+            public String name(int id) { return "P" + (id + 1); }
+            public int arrival(int id) { return arrivals[id]; }
+            public int burst(int id) { return WorkloadGenerator.this.burst(id); }
+            public int priority(int id) { return WorkloadGenerator.this.priority(id, cumulative); }
+            public int quantum(int id) { return WorkloadGenerator.this.quantum(id); }
+
+            // arrivals never decrease, so id order already is arrival order
+            public int[] arrivalOrder() {
+                int[] order = new int[count];
+                for (int i = 0; i < count; i++)
+                    order[i] = i;
+                return order;
+            }
+        };
+    }
+
+    // =====================================================
+    // Output
+    // =====================================================
+
+    // {"input": StandardInput} or, for ag, {"input": AGInput}; readable by Simulator and the streaming loader
+    public void writeJson(OutputStream out, boolean ag) throws IOException {
+        try (JsonGenerator json = new JsonFactory().createGenerator(out, JsonEncoding.UTF8)) {
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            json.writeStartObject();
+            json.writeObjectFieldStart("input");
+            json.writeNumberField("contextSwitch", contextSwitch);
+            if (!ag) {
+                json.writeNumberField("rrQuantum", rrQuantum);
+                json.writeNumberField("agingInterval", agingInterval);
+            }
+            json.writeArrayFieldStart("processes");
+
+            Cursor cursor = cursor();
+            while (cursor.next()) {
+                json.writeStartObject();
+                json.writeStringField("name", cursor.name());
+                json.writeNumberField("arrival", cursor.arrival);
+                json.writeNumberField("burst", cursor.burst);
+                json.writeNumberField("priority", cursor.priority);
+                if (ag) json.writeNumberField("quantum", cursor.quantum);
+                json.writeEndObject();
+            }
+
+            json.writeEndArray();
+            json.writeEndObject();
+            json.writeEndObject();
+        }
+    }
+
+    public void writeTrace(Path path) throws IOException {
+        try (TraceWriter writer = new TraceWriter(path)) {
+            writer.contextSwitch = contextSwitch;
+            writer.rrQuantum = rrQuantum;
+            writer.agingInterval = agingInterval;
+
+            Cursor cursor = cursor();
+            while (cursor.next())
+                writer.add(cursor.name(), cursor.arrival, cursor.burst, cursor.priority, cursor.quantum);
+        }
+    }
+
+    // =====================================================
+    // Per-process values
+    // =====================================================
+
+    private double gap(int id) {
+        return -Math.log(1 - uniform(id, GAP)) / arrivalRate;
+    }
+
+    private int burst(int id) {
+        double value;
+        switch (burstDistribution) {
+            case "pareto":
+                value = burstScale / Math.pow(1 - uniform(id, BURST), 1 / burstShape);
+                break;
+            case "lognormal":
+                // Box-Muller from two independent streams
+                double gaussian = Math.sqrt(-2 * Math.log(1 - uniform(id, BURST)))
+                        * Math.cos(2 * Math.PI * uniform(id, BURST_2));
+                value = burstScale * Math.exp(burstShape * gaussian);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown burst distribution: " + burstDistribution);
+        }
+        return (int) Math.max(1, Math.min(maxBurst, Math.round(value)));
+    }
+
+    private int priority(int id, double[] cumulative) {
+        double u = uniform(id, PRIORITY) * cumulative[cumulative.length - 1];
+        int i = Arrays.binarySearch(cumulative, u);
+        i = i >= 0 ? i + 1 : -i - 1;
+        return priorities[Math.min(i, priorities.length - 1)];
+    }
+
+    private int quantum(int id) {
+        return minQuantum + (int) (uniform(id, QUANTUM) * (maxQuantum - minQuantum + 1));
+    }
+
+    private double[] cumulativeWeights() {
+        if (priorities.length == 0 || priorities.length != priorityWeights.length)
+            throw new IllegalArgumentException("priorities and priorityWeights must have the same non-zero length");
+        double[] cumulative = new double[priorityWeights.length];
+        double sum = 0;
+        for (int i = 0; i < cumulative.length; i++)
+            cumulative[i] = sum += priorityWeights[i];
+        return cumulative;
+    }
+
+    // uniform in [0, 1) from (seed, id, stream)
+    private double uniform(int id, int stream) {
+        long z = seed + (id + 1L) * 0x9E3779B97F4A7C15L + stream * 0xD1B54A32D192ED03L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        z = z ^ (z >>> 31);
+        return (z >>> 11) * 0x1.0p-53;
+    }
+
+    // usage: WorkloadGenerator --count N [--seed S] [--rate R] [--burst pareto:alpha:min | lognormal:sigma:median]
+    //                          [--maxBurst B] [--priorities p:w,p:w,...] [--quantum min:max]
+    //                          [--contextSwitch C] [--rrQuantum Q] [--aging A] [--ag] [--out file.json|file.trace]
+    // without --out the JSON goes to stdout
+    public static void main(String[] args) throws IOException {
+        WorkloadGenerator generator = new WorkloadGenerator();
+        boolean ag = false;
+        String out = null;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--count": generator.count = Integer.parseInt(args[++i]); break;
+                case "--seed": generator.seed = Long.parseLong(args[++i]); break;
+                case "--rate": generator.arrivalRate = Double.parseDouble(args[++i]); break;
+                case "--burst": {
+                    String[] parts = args[++i].split(":");
+                    generator.burstDistribution = parts[0];
+                    if (parts.length > 1) generator.burstShape = Double.parseDouble(parts[1]);
+                    if (parts.length > 2) generator.burstScale = Double.parseDouble(parts[2]);
+                    break;
+                }
+                case "--maxBurst": generator.maxBurst = Integer.parseInt(args[++i]); break;
+                case "--priorities": {
+                    String[] entries = args[++i].split(",");
+                    generator.priorities = new int[entries.length];
+                    generator.priorityWeights = new double[entries.length];
+                    for (int e = 0; e < entries.length; e++) {
+                        String[] parts = entries[e].split(":");
+                        generator.priorities[e] = Integer.parseInt(parts[0].trim());
+                        generator.priorityWeights[e] = parts.length > 1 ? Double.parseDouble(parts[1]) : 1;
+                    }
+                    break;
+                }
+                case "--quantum": {
+                    String[] parts = args[++i].split(":");
+                    generator.minQuantum = Integer.parseInt(parts[0]);
+                    generator.maxQuantum = Integer.parseInt(parts[parts.length - 1]);
+                    break;
+                }
+                case "--contextSwitch": generator.contextSwitch = Integer.parseInt(args[++i]); break;
+                case "--rrQuantum": generator.rrQuantum = Integer.parseInt(args[++i]); break;
+                case "--aging": generator.agingInterval = Integer.parseInt(args[++i]); break;
+                case "--ag": ag = true; break;
+                case "--out": out = args[++i]; break;
+                default: throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+
+        if (out == null) {
+            generator.writeJson(new BufferedOutputStream(System.out, 1 << 16), ag);
+        } else if (out.endsWith(".trace")) {
+            generator.writeTrace(Paths.get(out));
+        } else {
+            try (OutputStream stream = new BufferedOutputStream(new FileOutputStream(out), 1 << 16)) {
+                generator.writeJson(stream, ag);
+            }
+        }
+    }
+}
@@ -1,15 +1,48 @@
 package org.example;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordingFile;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import java.io.ByteArrayInputStream;
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.lang.management.ManagementFactory;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
 
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 // =====================================================
@@ -26,6 +59,10 @@ class TestInput {
     public int contextSwitch;
     public int rrQuantum;
     public int agingInterval;
+    public List<Integer> mlfqQuanta;
+    public Integer mlfqBoostInterval;
+    public Integer cfsTargetLatency;
+    public Integer cfsMinGranularity;
     public List<ProcessJSON> processes;
 }
 
@@ -33,6 +70,8 @@ class ExpectedOutput {
     public SchedulerOutput SJF;
     public SchedulerOutput RR;
     public SchedulerOutput Priority;
+    public SchedulerOutput MLFQ; // only in files that give MLFQ settings
+    public SchedulerOutput CFS;  // only in files that give CFS settings
 }
 
 class SchedulerOutput {
@@ -103,6 +142,12 @@ class SimulatorTest {
         // Test Priority Scheduler
         testPriority(tc, baseProcesses);
 
+        // Test MLFQ Scheduler
+        testMLFQ(tc, baseProcesses);
+
+        // Test CFS Scheduler
+        testCFS(tc, baseProcesses);
+
         System.out.println("✓ All tests passed for " + fileName);
     }
 
@@ -199,6 +244,93 @@ class SimulatorTest {
         System.out.println("✓ Priority tests passed");
     }
 
+    private void testMLFQ(TestCase tc, List<Process> baseProcesses) {
+        System.out.println("\n--- Testing MLFQ Scheduler ---");
+
+        // one level and no boost is plain round robin
+        assertSameResults(new RoundRobinScheduler(tc.input.rrQuantum, tc.input.contextSwitch).simulate(baseProcesses),
+                new MLFQScheduler(new int[] {tc.input.rrQuantum}, 0, tc.input.contextSwitch).simulate(baseProcesses),
+                "MLFQ as RR");
+
+        if (tc.expectedOutput.MLFQ == null) return;
+        SimulationResult mlfqResult = MLFQScheduler.of(MLFQScheduler.quanta(tc.input.mlfqQuanta),
+                tc.input.mlfqBoostInterval == null ? -1 : tc.input.mlfqBoostInterval,
+                tc.input.rrQuantum, tc.input.contextSwitch).simulate(baseProcesses);
+
+        assertEquals(tc.expectedOutput.MLFQ.executionOrder, mlfqResult.executionOrder,
+                "MLFQ: Execution order mismatch");
+        assertEquals(tc.expectedOutput.MLFQ.averageWaitingTime, mlfqResult.averageWaitingTime, 0.01,
+                "MLFQ: Average waiting time mismatch");
+        assertEquals(tc.expectedOutput.MLFQ.averageTurnaroundTime, mlfqResult.averageTurnaroundTime, 0.01,
+                "MLFQ: Average turnaround time mismatch");
+        for (ProcessResult expected : tc.expectedOutput.MLFQ.processResults) {
+            ProcessResult actual = findProcessResult(mlfqResult.processResults, expected.name);
+            assertNotNull(actual, "MLFQ: Process " + expected.name + " not found in results");
+            assertEquals(expected.waitingTime, actual.waitingTime,
+                    "MLFQ: Waiting time mismatch for " + expected.name);
+            assertEquals(expected.turnaroundTime, actual.turnaroundTime,
+                    "MLFQ: Turnaround time mismatch for " + expected.name);
+        }
+
+        System.out.println("✓ MLFQ tests passed");
+    }
+
+    private void testCFS(TestCase tc, List<Process> baseProcesses) {
+        if (tc.expectedOutput.CFS == null) return;
+        System.out.println("\n--- Testing CFS Scheduler ---");
+
+        SimulationResult cfsResult = CFSScheduler.of(tc.input.cfsTargetLatency == null ? -1 : tc.input.cfsTargetLatency,
+                tc.input.cfsMinGranularity == null ? -1 : tc.input.cfsMinGranularity,
+                tc.input.rrQuantum, tc.input.contextSwitch).simulate(baseProcesses);
+
+        assertEquals(tc.expectedOutput.CFS.executionOrder, cfsResult.executionOrder,
+                "CFS: Execution order mismatch");
+        assertEquals(tc.expectedOutput.CFS.averageWaitingTime, cfsResult.averageWaitingTime, 0.01,
+                "CFS: Average waiting time mismatch");
+        assertEquals(tc.expectedOutput.CFS.averageTurnaroundTime, cfsResult.averageTurnaroundTime, 0.01,
+                "CFS: Average turnaround time mismatch");
+        for (ProcessResult expected : tc.expectedOutput.CFS.processResults) {
+            ProcessResult actual = findProcessResult(cfsResult.processResults, expected.name);
+            assertNotNull(actual, "CFS: Process " + expected.name + " not found in results");
+            assertEquals(expected.waitingTime, actual.waitingTime,
+                    "CFS: Waiting time mismatch for " + expected.name);
+            assertEquals(expected.turnaroundTime, actual.turnaroundTime,
+                    "CFS: Turnaround time mismatch for " + expected.name);
+        }
+
+        System.out.println("✓ CFS tests passed");
+    }
+
+    @Test
+    @DisplayName("Test MLFQ boosts stay in range near the end of int time")
+    void testMLFQLateBoost() {
+        // the boost after 3e9 does not fit an int: it must never come, not wrap negative
+        ProcessTable w = new ProcessTable(2);
+        w.add("P1", 2_000_000_000, 5, 1, 0);
+        w.add("P2", 2_000_000_001, 3, 1, 0);
+        SimulationResult result = new MLFQScheduler(new int[] {2, 4}, 1_500_000_000, 1).simulate(w);
+        assertEquals(List.of("P1", "P2", "P1", "P2"), result.executionOrder);
+        assertEquals(2_000_000_009, 2_000_000_000 + findProcessResult(result.processResults, "P1").turnaroundTime);
+        assertEquals(2_000_000_011, 2_000_000_001 + findProcessResult(result.processResults, "P2").turnaroundTime);
+    }
+
+    @Test
+    @DisplayName("Test CFS refuses workloads too large for its packed heap keys")
+    void testCFSLimit() {
+        // 2^25 ranks no longer fit below 38 bits of vruntime; nothing past size() is read
+        Workload huge = new Workload() {
+            public int size() { return 1 << 25; }
+            public String name(int id) { return "P" + id; }
+            public int arrival(int id) { return 0; }
+            public int burst(int id) { return 1; }
+            public int priority(int id) { return 1; }
+            public int quantum(int id) { return 0; }
+        };
+        Scheduler cfs = CFSScheduler.of(-1, -1, 4, 0);
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> cfs.simulate(huge));
+        assertTrue(e.getMessage().contains(String.valueOf((1 << 25) - 1)), e.getMessage());
+    }
+
     // =====================================================
     // AG SCHEDULER TESTS (AG_test1.json to AG_test6.json)
     // =====================================================
@@ -256,6 +388,1467 @@ class SimulatorTest {
         System.out.println("✓ AG Scheduler tests passed for " + fileName);
     }
 
+    // =====================================================
+    // EVENT-DRIVEN ENGINE TESTS
+    // =====================================================
+
+    @ParameterizedTest(name = "Event SJF Test Case {0}")
+    @ValueSource(ints = {1, 2, 3, 4, 5, 6})
+    @DisplayName("Test event-driven SJF matches the tick-based SJF")
+    void testEventSJF(int testNumber) throws Exception {
+        String fileName = "test_" + testNumber + ".json";
+
+        InputStream is = getClass().getClassLoader().getResourceAsStream(fileName);
+        assertNotNull(is, fileName + " not found in resources");
+
+        TestCase tc = mapper.readValue(is, TestCase.class);
+        List<Process> baseProcesses = tc.input.processes.stream()
+                .map(p -> new Process(p.name, p.arrival, p.burst, p.priority, 0))
+                .collect(Collectors.toList());
+
+        SimulationResult expected = new SJFScheduler(tc.input.contextSwitch)
+                .simulate(copyProcessList(baseProcesses));
+        SimulationResult actual = new EventSJFScheduler(tc.input.contextSwitch)
+                .simulate(copyProcessList(baseProcesses));
+
+        assertEquals(tc.expectedOutput.SJF.executionOrder, actual.executionOrder,
+                "Event SJF: Execution order mismatch");
+        assertSameResults(expected, actual, "Event SJF");
+    }
+
+    @ParameterizedTest(name = "Lazy Aging Priority Test Case {0}")
+    @ValueSource(ints = {1, 2, 3, 4, 5, 6})
+    @DisplayName("Test lazy-aging Priority matches the rebuilding Priority scheduler")
+    void testLazyAgingPriority(int testNumber) throws Exception {
+        String fileName = "test_" + testNumber + ".json";
+
+        InputStream is = getClass().getClassLoader().getResourceAsStream(fileName);
+        assertNotNull(is, fileName + " not found in resources");
+
+        TestCase tc = mapper.readValue(is, TestCase.class);
+        List<Process> baseProcesses = tc.input.processes.stream()
+                .map(p -> new Process(p.name, p.arrival, p.burst, p.priority, 0))
+                .collect(Collectors.toList());
+
+        SimulationResult expected = new PriorityScheduler(tc.input.contextSwitch, tc.input.agingInterval)
+                .simulate(copyProcessList(baseProcesses));
+        SimulationResult actual = new LazyAgingPriorityScheduler(tc.input.contextSwitch, tc.input.agingInterval)
+                .simulate(copyProcessList(baseProcesses));
+
+        assertSameResults(expected, actual, "Lazy Aging Priority");
+    }
+
+    @Test
+    @DisplayName("Test lazy aging gives PriorityScheduler's schedule on random small workloads")
+    void testLazyAgingDifferential() {
+        // processes at priority 1 still end slices when PriorityScheduler would age them
+        ProcessTable table = new ProcessTable(5);
+        table.add("P1", 8, 1, 3, 0);
+        table.add("P2", 11, 10, 3, 0);
+        table.add("P3", 11, 1, 8, 0);
+        table.add("P4", 0, 4, 9, 0);
+        table.add("P5", 17, 2, 2, 0);
+        SimulationResult expected = new PriorityScheduler(1, 1).simulate(table);
+        assertEquals(List.of("P4", "P1", "P2", "P3", "P5", "P2", "P3", "P5"), expected.executionOrder);
+        assertSameResults(expected, new LazyAgingPriorityScheduler(1, 1).simulate(table), "Lazy Aging Priority");
+        assertEquals(List.of("P1", "P2", "P3", "P4", "P5"),
+                expected.processResults.stream().map(r -> r.name).collect(Collectors.toList()),
+                "Priority lists its results in input order");
+
+        for (int seed = 0; seed < 3000; seed++) {
+            Random random = new Random(seed);
+            ProcessTable w = randomTable(random);
+            int contextSwitch = random.nextInt(3);
+            int agingInterval = 1 + random.nextInt(6);
+            assertSameResults(new PriorityScheduler(contextSwitch, agingInterval).simulate(w),
+                    new LazyAgingPriorityScheduler(contextSwitch, agingInterval).simulate(w),
+                    "Lazy Aging Priority, seed " + seed);
+        }
+    }
+
+    @Test
+    @DisplayName("Test one-core multi-core Priority gives PriorityScheduler's schedule on random small workloads")
+    void testMultiCorePriorityDifferential() {
+        for (int seed = 0; seed < 3000; seed++) {
+            Random random = new Random(seed);
+            ProcessTable w = randomTable(random);
+            int contextSwitch = random.nextInt(3);
+            int agingInterval = 1 + random.nextInt(6);
+            SimulationResult expected = new PriorityScheduler(contextSwitch, agingInterval).simulate(w);
+            MultiCoreScheduler cpu = new MultiCoreScheduler("Priority", 1, contextSwitch, 1, agingInterval);
+            assertSameResults(expected, cpu.simulate(w), "Multi-core Priority, seed " + seed);
+            assertSameResults(expected, new IOScheduler(cpu).simulate(w), "I/O Priority, seed " + seed);
+        }
+    }
+
+    // up to 8 short processes arriving close together, some with no burst at all
+    private static ProcessTable randomTable(Random random) {
+        int n = 1 + random.nextInt(8);
+        ProcessTable w = new ProcessTable(n);
+        for (int i = 0; i < n; i++)
+            w.add("P" + (i + 1), random.nextInt(20), random.nextInt(12), 1 + random.nextInt(10), 0);
+        return w;
+    }
+
+    @Test
+    @DisplayName("Test lazy aging only touches processes whose priority changes")
+    void testLazyAgingScaling() {
+        WorkloadGenerator generator = new WorkloadGenerator();
+        MultiCoreScheduler stealing = new MultiCoreScheduler("Priority", 4,
+                generator.contextSwitch, generator.rrQuantum, generator.agingInterval);
+        stealing.balancing = "steal";
+        Map<String, Scheduler> schedulers = new LinkedHashMap<>();
+        schedulers.put("Lazy Aging Priority",
+                new LazyAgingPriorityScheduler(generator.contextSwitch, generator.agingInterval));
+        schedulers.put("Multi-core Priority", new MultiCoreScheduler("Priority", 1,
+                generator.contextSwitch, generator.rrQuantum, generator.agingInterval));
+        schedulers.put("Multi-core Priority / steal", stealing);
+
+        // onAging is only sent when a priority drops, and a priority never rises
+        // again, so a run ages at most sum(priority - 1) times on any engine
+        for (int n : new int[]{4000, 16000}) {
+            generator.count = n;
+            Workload workload = generator.workload();
+            for (Map.Entry<String, Scheduler> entry : schedulers.entrySet()) {
+                String label = entry.getKey() + " on " + n;
+                int[] priority = new int[n];
+                long bound = 0;
+                for (int i = 0; i < n; i++) {
+                    priority[i] = workload.priority(i);
+                    bound += Math.max(priority[i] - 1, 1);
+                }
+                long[] agings = new long[1];
+                entry.getValue().run(workload, new SimulationListener() {
+                    @Override
+                    public void onAging(int id, int time, int updated) {
+                        assertNotEquals(priority[id], updated, label + ": P" + (id + 1) + " aged without a change");
+                        priority[id] = updated;
+                        agings[0]++;
+                    }
+                });
+                assertTrue(agings[0] <= bound, label + ": " + agings[0] + " aging events, bound " + bound);
+            }
+        }
+    }
+
+    @ParameterizedTest(name = "Process Table Test Case {0}")
+    @ValueSource(ints = {1, 2, 3, 4, 5, 6})
+    @DisplayName("Test every scheduler gives the same results on a ProcessTable")
+    void testProcessTable(int testNumber) throws Exception {
+        String fileName = "test_" + testNumber + ".json";
+
+        InputStream is = getClass().getClassLoader().getResourceAsStream(fileName);
+        assertNotNull(is, fileName + " not found in resources");
+
+        TestCase tc = mapper.readValue(is, TestCase.class);
+        List<Process> baseProcesses = tc.input.processes.stream()
+                .map(p -> new Process(p.name, p.arrival, p.burst, p.priority, 0))
+                .collect(Collectors.toList());
+        ProcessTable table = ProcessTable.from(baseProcesses);
+
+        List<Scheduler> schedulers = List.of(
+                new SJFScheduler(tc.input.contextSwitch),
+                new EventSJFScheduler(tc.input.contextSwitch),
+                new RoundRobinScheduler(tc.input.rrQuantum, tc.input.contextSwitch),
+                new PriorityScheduler(tc.input.contextSwitch, tc.input.agingInterval),
+                new LazyAgingPriorityScheduler(tc.input.contextSwitch, tc.input.agingInterval));
+
+        for (Scheduler scheduler : schedulers) {
+            String label = scheduler.getClass().getSimpleName();
+            assertSameResults(scheduler.simulate(copyProcessList(baseProcesses)), scheduler.simulate(table), label);
+        }
+
+        // the table itself is never modified by a run
+        for (int i = 0; i < baseProcesses.size(); i++) {
+            Process p = baseProcesses.get(i);
+            assertEquals(p.arrivalTime, table.arrival(i), "ProcessTable: arrival modified");
+            assertEquals(p.burstTime, table.burst(i), "ProcessTable: burst modified");
+            assertEquals(p.priority, table.priority(i), "ProcessTable: priority modified");
+        }
+    }
+
+    @ParameterizedTest(name = "Streaming Loader Test Case {0}")
+    @ValueSource(ints = {1, 2, 3, 4, 5, 6})
+    @DisplayName("Test streaming loader reads the same workload as ObjectMapper")
+    void testStreamingLoader(int testNumber) throws Exception {
+        TestCase tc = mapper.readValue(
+                getClass().getClassLoader().getResourceAsStream("test_" + testNumber + ".json"), TestCase.class);
+        TableInput input = StreamingWorkloadLoader.load(
+                getClass().getClassLoader().getResourceAsStream("test_" + testNumber + ".json"));
+
+        assertEquals(tc.input.contextSwitch, input.contextSwitch);
+        assertEquals(tc.input.rrQuantum, input.rrQuantum);
+        assertEquals(tc.input.agingInterval, input.agingInterval);
+        assertArrayEquals(MLFQScheduler.quanta(tc.input.mlfqQuanta), input.mlfqQuanta);
+        assertEquals(tc.input.mlfqBoostInterval == null ? -1 : tc.input.mlfqBoostInterval, input.mlfqBoostInterval);
+        assertEquals(tc.input.cfsTargetLatency == null ? -1 : tc.input.cfsTargetLatency, input.cfsTargetLatency);
+        assertEquals(tc.input.cfsMinGranularity == null ? -1 : tc.input.cfsMinGranularity, input.cfsMinGranularity);
+        assertEquals(tc.input.processes.size(), input.processes.size());
+        for (int i = 0; i < input.processes.size(); i++) {
+            ProcessJSON p = tc.input.processes.get(i);
+            assertEquals(p.name, input.processes.name(i));
+            assertEquals(p.arrival, input.processes.arrival(i));
+            assertEquals(p.burst, input.processes.burst(i));
+            assertEquals(p.priority, input.processes.priority(i));
+        }
+
+        AGTestCase ag = mapper.readValue(
+                getClass().getClassLoader().getResourceAsStream("AG_test" + testNumber + ".json"), AGTestCase.class);
+        TableInput agInput = StreamingWorkloadLoader.load(
+                getClass().getClassLoader().getResourceAsStream("AG_test" + testNumber + ".json"));
+
+        assertEquals(ag.input.processes.size(), agInput.processes.size());
+        for (int i = 0; i < agInput.processes.size(); i++) {
+            assertEquals(ag.input.processes.get(i).quantum, agInput.processes.quantum(i));
+        }
+    }
+
+    @ParameterizedTest(name = "Binary Trace Test Case {0}")
+    @ValueSource(ints = {1, 2, 3, 4, 5, 6})
+    @DisplayName("Test binary trace round trip and schedulers on the mapped trace")
+    void testBinaryTrace(int testNumber) throws Exception {
+        TableInput input = StreamingWorkloadLoader.load(
+                getClass().getClassLoader().getResourceAsStream("test_" + testNumber + ".json"));
+
+        Path file = Files.createTempFile("test_" + testNumber, ".trace");
+        try {
+            TraceWriter.write(file, input);
+            MappedTrace trace = MappedTrace.open(file);
+
+            assertEquals(input.contextSwitch, trace.contextSwitch);
+            assertEquals(input.rrQuantum, trace.rrQuantum);
+            assertEquals(input.agingInterval, trace.agingInterval);
+            assertEquals(input.processes.size(), trace.size());
+            for (int i = 0; i < trace.size(); i++) {
+                assertEquals(input.processes.name(i), trace.name(i));
+                assertEquals(input.processes.arrival(i), trace.arrival(i));
+                assertEquals(input.processes.burst(i), trace.burst(i));
+                assertEquals(input.processes.priority(i), trace.priority(i));
+            }
+
+            List<Scheduler> schedulers = List.of(
+                    new EventSJFScheduler(trace.contextSwitch),
+                    new RoundRobinScheduler(trace.rrQuantum, trace.contextSwitch),
+                    new LazyAgingPriorityScheduler(trace.contextSwitch, trace.agingInterval),
+                    new EventAGScheduler(trace.contextSwitch));
+            for (Scheduler scheduler : schedulers) {
+                assertSameResults(scheduler.simulate(input.processes), scheduler.simulate(trace),
+                        scheduler.getClass().getSimpleName() + " on trace");
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @ParameterizedTest(name = "Event AG Test Case {0}")
+    @ValueSource(ints = {1, 2, 3, 4, 5, 6})
+    @DisplayName("Test event-driven AG matches the tick-based AG")
+    void testEventAG(int testNumber) throws Exception {
+        String fileName = "AG_test" + testNumber + ".json";
+
+        InputStream is = getClass().getClassLoader().getResourceAsStream(fileName);
+        assertNotNull(is, fileName + " not found in resources");
+
+        AGTestCase tc = mapper.readValue(is, AGTestCase.class);
+        List<Process> processes = tc.input.processes.stream()
+                .map(p -> new Process(p.name, p.arrival, p.burst, p.priority, p.quantum))
+                .collect(Collectors.toList());
+
+        SimulationResult expected = new AGScheduler(0).simulate(copyProcessList(processes));
+        SimulationResult actual = new EventAGScheduler(0).simulate(copyProcessList(processes));
+
+        assertEquals(tc.expectedOutput.executionOrder, actual.executionOrder,
+                "Event AG: Execution order mismatch");
+        assertSameResults(expected, actual, "Event AG");
+    }
+
+    @ParameterizedTest(name = "Timeline Test Case {0}")
+    @ValueSource(ints = {1, 2, 3, 4, 5, 6})
+    @DisplayName("Test timelines are ordered, cover every burst and match executionOrder")
+    void testTimeline(int testNumber) throws Exception {
+        TableInput input = StreamingWorkloadLoader.load(
+                getClass().getClassLoader().getResourceAsStream("test_" + testNumber + ".json"));
+        TableInput ag = StreamingWorkloadLoader.load(
+                getClass().getClassLoader().getResourceAsStream("AG_test" + testNumber + ".json"));
+
+        Map<String, SimulationResult> results = new LinkedHashMap<>();
+        results.put("SJF", new SJFScheduler(input.contextSwitch).simulate(input.processes));
+        results.put("Event SJF", new EventSJFScheduler(input.contextSwitch).simulate(input.processes));
+        results.put("RR", new RoundRobinScheduler(input.rrQuantum, input.contextSwitch).simulate(input.processes));
+        results.put("Priority", new PriorityScheduler(input.contextSwitch, input.agingInterval)
+                .simulate(input.processes));
+        results.put("Lazy Aging Priority", new LazyAgingPriorityScheduler(input.contextSwitch, input.agingInterval)
+                .simulate(input.processes));
+        results.put("AG", new AGScheduler(0).simulate(ag.processes));
+        results.put("Event AG", new EventAGScheduler(0).simulate(ag.processes));
+
+        for (Map.Entry<String, SimulationResult> entry : results.entrySet()) {
+            String label = entry.getKey();
+            Timeline timeline = entry.getValue().timeline;
+            Workload workload = label.contains("AG") ? ag.processes : input.processes;
+
+            assertEquals(timeline.size(), entry.getValue().executionOrder.size(), label);
+            Map<String, Integer> ran = new HashMap<>();
+            int previousEnd = 0;
+            for (int i = 0; i < timeline.size(); i++) {
+                assertEquals(entry.getValue().executionOrder.get(i), timeline.name(i), label);
+                assertTrue(timeline.start(i) >= previousEnd, label + ": segment " + i + " overlaps");
+                assertTrue(timeline.end(i) >= timeline.start(i), label + ": segment " + i + " is negative");
+                ran.merge(timeline.name(i), timeline.end(i) - timeline.start(i), Integer::sum);
+                previousEnd = timeline.end(i);
+            }
+            for (int i = 0; i < workload.size(); i++)
+                assertEquals(workload.burst(i), (int) ran.get(workload.name(i)), label + ": CPU time of " + workload.name(i));
+        }
+    }
+
+    @ParameterizedTest(name = "Listener Test Case {0}")
+    @ValueSource(ints = {1, 2, 3, 4, 5, 6})
+    @DisplayName("Test streaming listeners see the same run as SimulationResult")
+    void testSimulationListener(int testNumber) throws Exception {
+        TableInput input = StreamingWorkloadLoader.load(
+                getClass().getClassLoader().getResourceAsStream("test_" + testNumber + ".json"));
+
+        Map<String, Scheduler> schedulers = new LinkedHashMap<>();
+        schedulers.put("Event SJF", new EventSJFScheduler(input.contextSwitch));
+        schedulers.put("RR", new RoundRobinScheduler(input.rrQuantum, input.contextSwitch));
+        schedulers.put("Lazy Aging Priority", new LazyAgingPriorityScheduler(input.contextSwitch, input.agingInterval));
+
+        for (Map.Entry<String, Scheduler> entry : schedulers.entrySet()) {
+            String label = entry.getKey();
+            SimulationResult expected = entry.getValue().simulate(input.processes);
+
+            SummaryListener summary = new SummaryListener();
+            entry.getValue().run(input.processes, summary);
+            assertEquals(input.processes.size(), summary.completed, label);
+            assertEquals(expected.timeline.size(), summary.dispatches, label);
+            assertEquals(expected.contextSwitches, summary.contextSwitches, label);
+            assertEquals(expected.averageWaitingTime, summary.averageWaitingTime(), 0.01, label);
+            assertEquals(expected.averageTurnaroundTime, summary.averageTurnaroundTime(), 0.01, label);
+
+            StringWriter csv = new StringWriter();
+            entry.getValue().run(input.processes, new EventLogListener(csv));
+            List<String> lines = csv.toString().lines().collect(Collectors.toList());
+            assertEquals("time,event,process,value", lines.get(0), label);
+            assertTrue(lines.get(lines.size() - 1).endsWith(",finish,,"), label);
+            List<String> dispatched = lines.stream()
+                    .filter(line -> line.contains(",dispatch,"))
+                    .map(line -> line.split(",")[2])
+                    .collect(Collectors.toList());
+            assertEquals(expected.executionOrder, dispatched, label);
+        }
+    }
+
+    @ParameterizedTest(name = "Instrumentation Test Case {0}")
+    @ValueSource(ints = {1, 2, 3, 4, 5, 6})
+    @DisplayName("Test JMX counters and JFR events agree with the run they describe")
+    void testInstrumentation(int testNumber) throws Exception {
+        TableInput input = StreamingWorkloadLoader.load(
+                getClass().getClassLoader().getResourceAsStream("test_" + testNumber + ".json"));
+        AGTestCase ag = mapper.readValue(
+                getClass().getClassLoader().getResourceAsStream("AG_test" + testNumber + ".json"), AGTestCase.class);
+        Workload agInput = ProcessTable.from(ag.input.processes.stream()
+                .map(p -> new Process(p.name, p.arrival, p.burst, p.priority, p.quantum))
+                .collect(Collectors.toList()));
+
+        Map<Scheduler, Workload> runs = new LinkedHashMap<>();
+        runs.put(new EventSJFScheduler(input.contextSwitch), input.processes);
+        runs.put(new RoundRobinScheduler(input.rrQuantum, input.contextSwitch), input.processes);
+        runs.put(new PriorityScheduler(input.contextSwitch, input.agingInterval), input.processes);
+        runs.put(new EventAGScheduler(0), agInput);
+
+        // JMX is process-wide: switch it back afterwards so later tests run uninstrumented
+        boolean jmx = Instrumentation.setJmx(true);
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            try (Recording recording = new Recording()) {
+                recording.enable("org.example.Dispatch");
+                recording.enable("org.example.Complete");
+                recording.start();
+
+                for (Map.Entry<Scheduler, Workload> run : runs.entrySet()) {
+                    Scheduler scheduler = run.getKey();
+                    Workload w = run.getValue();
+                    String label = scheduler.getClass().getSimpleName();
+                    Instrumentation.metrics(label).reset();
+
+                    SimulationResult result = scheduler.simulate(w);
+                    StringWriter csv = new StringWriter();
+                    scheduler.run(w, new EventLogListener(csv));
+
+                    ObjectName name = new ObjectName("org.example:type=SchedulerMetrics,scheduler=" + label);
+                    assertEquals(2L, server.getAttribute(name, "Runs"), label);
+                    assertEquals(0L, server.getAttribute(name, "ActiveRuns"), label);
+                    assertEquals(0L, server.getAttribute(name, "ReadyQueueDepth"), label);
+                    assertEquals(2L * result.timeline.size(), server.getAttribute(name, "Dispatches"), label);
+                    assertEquals(2L * w.size(), server.getAttribute(name, "Completions"), label);
+                    assertEquals(2L * result.contextSwitches, server.getAttribute(name, "ContextSwitches"), label);
+
+                    // one core: every time unit is busy, switching or idle
+                    long busy = 0;
+                    for (int i = 0; i < result.timeline.size(); i++)
+                        busy += result.timeline.end(i) - result.timeline.start(i);
+                    assertEquals(2 * busy, server.getAttribute(name, "BusyTime"), label);
+                    assertEquals((long) server.getAttribute(name, "SimulatedTime"),
+                            (long) server.getAttribute(name, "BusyTime") + (long) server.getAttribute(name, "IdleTime")
+                                    + (long) server.getAttribute(name, "ContextSwitchTime"), label);
+
+                    long aging = csv.toString().lines().filter(line -> line.contains(",aging,")).count();
+                    assertEquals(2 * aging, server.getAttribute(name, "AgingAdjustments"), label);
+                    long quantumUpdates = result.quantumHistory.values().stream().mapToLong(h -> h.size() - 1).sum();
+                    assertEquals(2 * quantumUpdates, server.getAttribute(name, "QuantumAdjustments"), label);
+                }
+                assertTrue((long) server.getAttribute(new ObjectName(
+                        "org.example:type=SchedulerMetrics,scheduler=PriorityScheduler"), "MaxReadyQueueDepth") > 0);
+
+                recording.stop();
+                Path file = Files.createTempFile("scheduler", ".jfr");
+                try {
+                    recording.dump(file);
+                    Map<String, Long> events = RecordingFile.readAllEvents(file).stream().collect(Collectors.groupingBy(
+                            e -> e.getEventType().getName() + " " + e.getString("scheduler"), Collectors.counting()));
+                    for (Map.Entry<Scheduler, Workload> run : runs.entrySet()) {
+                        String label = run.getKey().getClass().getSimpleName();
+                        SimulationResult result = run.getKey().simulate(run.getValue());
+                        assertEquals(2L * result.timeline.size(), (long) events.getOrDefault("org.example.Dispatch " + label, 0L), label);
+                        assertEquals(2L * run.getValue().size(), (long) events.getOrDefault("org.example.Complete " + label, 0L), label);
+                    }
+                } finally {
+                    Files.delete(file);
+                }
+            }
+        } finally {
+            Instrumentation.setJmx(jmx);
+        }
+    }
+
+    @Test
+    @DisplayName("Test latency histograms: exact below 128, within 1/64 above, mergeable")
+    void testLatencyHistogram() throws Exception {
+        long[] values = new long[20_000];
+        LatencyHistogram all = new LatencyHistogram();
+        LatencyHistogram even = new LatencyHistogram();
+        LatencyHistogram odd = new LatencyHistogram();
+        for (int i = 0; i < values.length; i++) {
+            // mostly small, with a heavy tail up to ~10^9
+            values[i] = i % 100 == 0 ? (long) i * i * 3 : i % 97;
+            all.record(values[i]);
+            (i % 2 == 0 ? even : odd).record(values[i]);
+        }
+        Arrays.sort(values);
+
+        for (double p : new double[]{50, 90, 99, 99.9, 100}) {
+            long exact = values[(int) Math.ceil(p / 100 * values.length) - 1];
+            long reported = all.valueAtPercentile(p);
+            assertTrue(reported >= exact && reported - exact <= exact / 64,
+                    "p" + p + ": exact " + exact + ", reported " + reported);
+        }
+        assertEquals(values[values.length - 1], all.max());
+        assertEquals(0, all.min());
+
+        even.merge(odd);
+        assertEquals(all.count(), even.count());
+        assertEquals(all.toString(), even.toString());
+        assertEquals(all.toCsv(), even.toCsv());
+
+        TableInput input = StreamingWorkloadLoader.load(
+                getClass().getClassLoader().getResourceAsStream("test_1.json"));
+        SimulationResult result = new RoundRobinScheduler(input.rrQuantum, input.contextSwitch)
+                .simulate(input.processes);
+        int maxWaiting = result.processResults.stream().mapToInt(p -> p.waitingTime).max().getAsInt();
+        assertEquals(maxWaiting, result.latency.waiting.max());
+        assertEquals(input.processes.size(), result.latency.response.count());
+        assertEquals(result.averageWaitingTime, result.latency.waiting.mean(), 0.01);
+        // nobody can respond later than they wait in total
+        assertTrue(result.latency.response.max() <= maxWaiting);
+    }
+
+    @ParameterizedTest(name = "Multi-Core Test Case {0}")
+    @ValueSource(ints = {1, 2, 3, 4, 5, 6})
+    @DisplayName("Test multi-core: one core matches the single-core engines, more cores stay consistent")
+    void testMultiCore(int testNumber) throws Exception {
+        TableInput input = StreamingWorkloadLoader.load(
+                getClass().getClassLoader().getResourceAsStream("test_" + testNumber + ".json"));
+        int cs = input.contextSwitch;
+
+        assertSameResults(new RoundRobinScheduler(input.rrQuantum, cs).simulate(input.processes),
+                new MultiCoreScheduler("RR", 1, cs, input.rrQuantum, input.agingInterval).simulate(input.processes),
+                "Multi-core RR");
+        assertSameResults(new EventSJFScheduler(cs).simulate(input.processes),
+                new MultiCoreScheduler("SJF", 1, cs, input.rrQuantum, input.agingInterval).simulate(input.processes),
+                "Multi-core SJF");
+        assertSameResults(new LazyAgingPriorityScheduler(cs, input.agingInterval).simulate(input.processes),
+                new MultiCoreScheduler("Priority", 1, cs, input.rrQuantum, input.agingInterval)
+                        .simulate(input.processes),
+                "Multi-core Priority");
+
+        Workload workload = input.processes;
+        for (String policy : new String[]{"RR", "SJF", "Priority"}) {
+            for (String balancing : new String[]{"none", "push", "steal", "power-of-two"}) {
+                String label = policy + " / " + balancing;
+                MultiCoreScheduler scheduler = new MultiCoreScheduler(policy, 4, cs, input.rrQuantum, input.agingInterval);
+                scheduler.balancing = balancing;
+                scheduler.migrationCost = 1;
+                scheduler.balanceInterval = 2;
+                MultiCoreResult result = scheduler.simulate(workload);
+
+                assertEquals(workload.size(), result.processResults.size(), label);
+                assertEquals(4, result.utilization.length, label);
+                assertTrue(result.imbalance >= 0, label);
+
+                // every core's segments are ordered, and each process gets exactly its burst
+                Map<String, Integer> ran = new HashMap<>();
+                for (Timeline timeline : result.coreTimelines) {
+                    int previousEnd = 0;
+                    for (int i = 0; i < timeline.size(); i++) {
+                        assertTrue(timeline.start(i) >= previousEnd, label + ": overlapping segments on a core");
+                        ran.merge(timeline.name(i), timeline.end(i) - timeline.start(i), Integer::sum);
+                        previousEnd = timeline.end(i);
+                    }
+                }
+                for (int i = 0; i < workload.size(); i++)
+                    assertEquals(workload.burst(i), (int) ran.getOrDefault(workload.name(i), 0),
+                            label + ": CPU time of " + workload.name(i));
+                for (ProcessResult p : result.processResults)
+                    assertTrue(p.waitingTime >= 0, label + ": negative waiting time for " + p.name);
+            }
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> new MultiCoreScheduler("AG", 2, 0, 1, 1));
+    }
+
+    @ParameterizedTest(name = "Online Test Case {0}")
+    @ValueSource(ints = {1, 2, 3, 4, 5, 6})
+    @DisplayName("Test online submission with advanceTo reproduces the batch schedule")
+    void testOnlineScheduler(int testNumber) throws Exception {
+        TableInput input = StreamingWorkloadLoader.load(
+                getClass().getClassLoader().getResourceAsStream("test_" + testNumber + ".json"));
+        Workload workload = input.processes;
+
+        Map<String, SimulationResult> batch = new LinkedHashMap<>();
+        batch.put("RR", new RoundRobinScheduler(input.rrQuantum, input.contextSwitch).simulate(workload));
+        batch.put("SJF", new EventSJFScheduler(input.contextSwitch).simulate(workload));
+
+        for (Map.Entry<String, SimulationResult> entry : batch.entrySet()) {
+            String label = "Online " + entry.getKey();
+            List<ProcessResult> completed = new ArrayList<>();
+            SummaryListener summary = new SummaryListener();
+            SimulationListener listener = new SimulationListener() {
+                private Workload live;
+
+                public void onStart(Workload workload) {
+                    live = workload;
+                }
+
+                public void onDispatch(int id, int time) {
+                    summary.onDispatch(id, time);
+                }
+
+                public void onContextSwitch(int from, int to) {
+                    summary.onContextSwitch(from, to);
+                }
+
+                public void onComplete(int id, int time, int waitingTime, int turnaroundTime) {
+                    completed.add(new ProcessResult(live.name(id), waitingTime, turnaroundTime));
+                }
+            };
+
+            OnlineScheduler online = new OnlineScheduler(entry.getKey(), input.contextSwitch, input.rrQuantum,
+                    input.agingInterval, workload.size(), listener);
+            for (int id : workload.arrivalOrder()) {
+                // the clock only ever catches up with the feed
+                online.advanceTo(workload.arrival(id));
+                online.submit(workload.name(id), workload.arrival(id), workload.burst(id), workload.priority(id));
+            }
+            online.finish();
+
+            SimulationResult expected = entry.getValue();
+            assertEquals(expected.processResults.size(), completed.size(), label);
+            for (int i = 0; i < completed.size(); i++) {
+                assertEquals(expected.processResults.get(i).name, completed.get(i).name, label + ": completion order");
+                assertEquals(expected.processResults.get(i).waitingTime, completed.get(i).waitingTime, label);
+                assertEquals(expected.processResults.get(i).turnaroundTime, completed.get(i).turnaroundTime, label);
+            }
+            assertEquals(expected.timeline.size(), summary.dispatches, label + ": dispatches");
+            assertEquals(expected.contextSwitches, summary.contextSwitches, label + ": context switches");
+            assertEquals(0, online.live(), label);
+        }
+
+        // the slot table is the memory bound: a full table pushes back, and time only moves forward
+        OnlineScheduler online = new OnlineScheduler("RR", 0, 2, 1, 1, new SummaryListener());
+        online.submit("A", 0, 3, 1);
+        assertThrows(IllegalStateException.class, () -> online.submit("B", 0, 1, 1));
+        online.advanceTo(3);
+        assertEquals(1, online.live(), "completion at 3 is not before 3");
+        online.advanceTo(4);
+        assertEquals(0, online.live());
+        online.submit("B", 5, 1, 1);
+        assertThrows(IllegalArgumentException.class, () -> online.submit("C", 4, 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> online.advanceTo(2));
+    }
+
+    @ParameterizedTest(name = "CPU-only I/O Test Case {0}")
+    @ValueSource(ints = {1, 2, 3, 4, 5, 6})
+    @DisplayName("Test the I/O scheduler runs a CPU-only workload exactly like the wrapped scheduler")
+    void testIOSchedulerCpuOnly(int testNumber) throws Exception {
+        TableInput input = StreamingWorkloadLoader.load(
+                getClass().getClassLoader().getResourceAsStream("test_" + testNumber + ".json"));
+        assertTrue(input.processes.devices().isEmpty());
+
+        for (String policy : new String[]{"RR", "SJF", "Priority"}) {
+            for (int cores : new int[]{1, 2}) {
+                String label = "I/O " + policy + " on " + cores;
+                MultiCoreScheduler cpu = new MultiCoreScheduler(policy, cores, input.contextSwitch,
+                        input.rrQuantum, input.agingInterval);
+                MultiCoreResult expected = cpu.simulate(input.processes);
+                IOResult actual = new IOScheduler(cpu).simulate(input.processes);
+
+                assertSameResults(expected, actual, label);
+                assertArrayEquals(expected.utilization, actual.utilization, 1e-9, label);
+                assertEquals(0, actual.deviceUtilization.length, label);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Test CPU and I/O bursts overlap, with device queues and utilization")
+    void testIOScheduler() throws Exception {
+        TestCase tc = mapper.readValue(
+                getClass().getClassLoader().getResourceAsStream("IO_test1.json"), TestCase.class);
+        TableInput input = StreamingWorkloadLoader.load(
+                getClass().getClassLoader().getResourceAsStream("IO_test1.json"));
+        ProcessTable table = new ProcessTable(tc.input.processes.size());
+        for (ProcessJSON p : tc.input.processes)
+            p.addTo(table);
+
+        // both loaders build the same sequences; burst is the CPU total
+        assertEquals(List.of("disk", "net"), table.devices());
+        assertEquals(table.devices(), input.processes.devices());
+        for (int i = 0; i < table.size(); i++) {
+            assertEquals(table.cpuBursts(i), input.processes.cpuBursts(i));
+            for (int k = 0; k < table.cpuBursts(i); k++)
+                assertEquals(table.cpuBurst(i, k), input.processes.cpuBurst(i, k));
+            for (int k = 0; k < table.cpuBursts(i) - 1; k++) {
+                assertEquals(table.ioBurst(i, k), input.processes.ioBurst(i, k));
+                assertEquals(table.ioDevice(i, k), input.processes.ioDevice(i, k));
+            }
+        }
+        assertEquals(7, table.burst(0));
+        assertEquals(5, table.burst(1));
+        assertEquals(1, table.cpuBursts(2));
+        assertThrows(IndexOutOfBoundsException.class, () -> table.ioBurst(2, 0));
+
+        Map<String, SchedulerOutput> expected = new LinkedHashMap<>();
+        expected.put("RR", tc.expectedOutput.RR);
+        expected.put("SJF", tc.expectedOutput.SJF);
+        expected.put("Priority", tc.expectedOutput.Priority);
+        for (Map.Entry<String, SchedulerOutput> e : expected.entrySet()) {
+            String label = e.getKey() + " with I/O";
+            IOResult result = new IOScheduler(e.getKey(), tc.input.contextSwitch, tc.input.rrQuantum,
+                    tc.input.agingInterval).simulate(table);
+
+            assertEquals(e.getValue().executionOrder, result.executionOrder, label + ": Execution order mismatch");
+            assertEquals(e.getValue().averageWaitingTime, result.averageWaitingTime, 0.01, label);
+            assertEquals(e.getValue().averageTurnaroundTime, result.averageTurnaroundTime, 0.01, label);
+            for (ProcessResult p : e.getValue().processResults) {
+                ProcessResult actual = findProcessResult(result.processResults, p.name);
+                assertNotNull(actual, label + ": Process " + p.name + " not found in results");
+                assertEquals(p.waitingTime, actual.waitingTime, label + ": Waiting time mismatch for " + p.name);
+                assertEquals(p.turnaroundTime, actual.turnaroundTime,
+                        label + ": Turnaround time mismatch for " + p.name);
+            }
+            // the CPU only runs what the processes ask of it
+            int ran = 0;
+            for (int i = 0; i < result.timeline.size(); i++)
+                ran += result.timeline.end(i) - result.timeline.start(i);
+            assertEquals(7 + 5 + 6, ran, label + ": CPU time");
+        }
+
+        // RR by hand: CPU busy 18 of 25, disk 3 + 5, net 4
+        IOResult rr = new IOScheduler("RR", tc.input.contextSwitch, tc.input.rrQuantum, tc.input.agingInterval)
+                .simulate(table);
+        assertEquals(0.72, rr.cpuUtilization, 1e-9);
+        assertArrayEquals(new double[]{0.32, 0.16}, rr.deviceUtilization, 1e-9);
+        assertEquals(3 / 25.0, rr.throughput, 1e-9);
+
+        // the same run again through a plain listener, which sees blocks as preemptions
+        SummaryListener summary = new SummaryListener();
+        new IOScheduler("RR", tc.input.contextSwitch, tc.input.rrQuantum, tc.input.agingInterval).run(table, summary);
+        assertEquals(rr.timeline.size(), summary.dispatches);
+        assertEquals(25, summary.finishTime);
+
+        // batch, chart, log and server runs route the workload by the same rule
+        BatchRunner.BatchInput in = BatchRunner.BatchInput.of(input);
+        for (String policy : new String[] {"RR", "SJF", "Priority"})
+            assertInstanceOf(IOScheduler.class, in.scheduler(policy), policy);
+        for (String refused : new String[] {"MLFQ", "CFS", "AG"})
+            assertThrows(IllegalArgumentException.class, () -> in.scheduler(refused), refused);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> new ProcessTable(1).add("X", 0, new int[]{1, 2}, null, 1, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> new ProcessTable(1).add("X", 0, new int[]{1, 0, 1}, null, 1, 0));
+    }
+
+    @Test
+    @DisplayName("Test decision logs record every event and diff finds the first divergence")
+    void testDecisionLog() throws Exception {
+        ProcessTable w = new ProcessTable(300);
+        for (int i = 0; i < 300; i++)
+            w.add("P" + i, i * 3 % 400, 1 + i * 7 % 23, 1 + i % 9, 2 + i % 5);
+        Path dir = Files.createTempDirectory("decisions");
+        Path a = dir.resolve("a.log"), b = dir.resolve("b.log"), cut = dir.resolve("cut.log");
+        try {
+            // the log passes every event on unchanged
+            StringWriter direct = new StringWriter();
+            new EventAGScheduler(0).run(w, new EventLogListener(direct));
+            StringWriter logged = new StringWriter();
+            try (DecisionLog log = new DecisionLog(a, new EventLogListener(logged), 8)) {
+                new EventAGScheduler(0).run(w, log);
+            }
+            assertEquals(direct.toString(), logged.toString());
+
+            SummaryListener summary = new SummaryListener();
+            new RoundRobinScheduler(2, 1).run(w, summary);
+            try (DecisionLog log = new DecisionLog(a, new SummaryListener(), 8)) {
+                new RoundRobinScheduler(2, 1).run(w, log);
+            }
+            try (DecisionLog log = new DecisionLog(b, new SummaryListener(), 8)) {
+                new RoundRobinScheduler(3, 1).run(w, log);
+            }
+
+            try (DecisionLogReader ra = DecisionLogReader.open(a); DecisionLogReader rb = DecisionLogReader.open(b)) {
+                assertEquals(DecisionLogFormat.START, ra.record(0)[0]);
+                assertEquals(300, ra.record(0)[4]);
+                int[] last = ra.record(ra.records - 1);
+                assertEquals(DecisionLogFormat.FINISH, last[0]);
+                assertEquals(summary.finishTime, last[3]);
+                assertEquals("P0", ra.name(0));
+                assertEquals(ra.records / 8, ra.indexCount);
+
+                assertEquals(-1, DecisionLog.diff(ra, ra));
+                long first = 0;
+                while (Arrays.equals(ra.record(first), rb.record(first)))
+                    first++;
+                assertEquals(first, DecisionLog.diff(ra, rb));
+                assertEquals(first, DecisionLog.diff(rb, ra));
+            }
+
+            // a log cut off mid-record has no index, but its whole records still compare
+            byte[] bytes = Files.readAllBytes(a);
+            long kept = 1000;
+            Files.write(cut, Arrays.copyOf(bytes, DecisionLogFormat.HEADER_BYTES
+                    + (int) kept * DecisionLogFormat.RECORD_BYTES + 5));
+            try (DecisionLogReader ra = DecisionLogReader.open(a); DecisionLogReader rc = DecisionLogReader.open(cut)) {
+                assertEquals(kept, rc.records);
+                assertEquals(0, rc.indexCount);
+                assertEquals(kept, DecisionLog.diff(ra, rc));
+            }
+
+            // cores and migrations go in too
+            MultiCoreResult multi = new MultiCoreScheduler("RR", 2, 1, 2, 5).simulate(w);
+            try (DecisionLog log = new DecisionLog(a, new SummaryListener())) {
+                new MultiCoreScheduler("RR", 2, 1, 2, 5).run(w, log);
+            }
+            try (DecisionLogReader ra = DecisionLogReader.open(a)) {
+                int[] dispatches = new int[2];
+                for (long i = 0; i < ra.records; i++) {
+                    int[] r = ra.record(i);
+                    if (r[0] == DecisionLogFormat.DISPATCH) dispatches[r[1]]++;
+                }
+                assertEquals(multi.coreTimelines[0].size(), dispatches[0]);
+                assertEquals(multi.coreTimelines[1].size(), dispatches[1]);
+            }
+        } finally {
+            for (Path f : new Path[]{a, b, cut, dir})
+                Files.deleteIfExists(f);
+        }
+    }
+
+    @Test
+    @DisplayName("Test Gantt charts draw each segment when they fit and stay bounded when they do not")
+    void testGanttChart() throws Exception {
+        TableInput input = StreamingWorkloadLoader.load(getClass().getClassLoader().getResourceAsStream("test_2.json"));
+        SimulationResult rr = new RoundRobinScheduler(input.rrQuantum, input.contextSwitch).simulate(input.processes);
+
+        // short run: one bar per segment, with its name and times
+        StringWriter svg = new StringWriter();
+        SummaryListener summary = new SummaryListener();
+        GanttChart chart = new GanttChart(svg, false, 600, summary);
+        new RoundRobinScheduler(input.rrQuantum, input.contextSwitch).run(input.processes, chart);
+        assertEquals(1, chart.bucket());
+        assertEquals(rr.timeline.size(), summary.dispatches);
+        assertTrue(svg.toString().startsWith("<svg"));
+        assertEquals(rr.timeline.size(), svg.toString().split("fill=\"hsl\\(").length - 1);
+        for (int i = 0; i < rr.timeline.size(); i++) {
+            String bar = "<title>" + input.processes.name(rr.timeline.pid(i)) + " t=" + rr.timeline.start(i)
+                    + ".." + rr.timeline.end(i) + "</title>";
+            assertTrue(svg.toString().contains(bar), bar);
+        }
+
+        // long run on two cores: sub-pixel segments become shaded buckets, the size stays put
+        ProcessTable w = new ProcessTable(20_000);
+        for (int i = 0; i < 20_000; i++)
+            w.add("P" + i, i * 2, 1 + i * 7 % 5, 1 + i % 9, 1);
+        StringWriter html = new StringWriter();
+        summary = new SummaryListener();
+        chart = new GanttChart(html, true, 100, summary);
+        new MultiCoreScheduler("RR", 2, 1, 1, 5).run(w, chart);
+        assertTrue(chart.bucket() > 1);
+        assertTrue(summary.finishTime <= chart.bucket() * 100);
+        assertTrue(summary.finishTime * 2 > chart.bucket() * 100);
+        assertTrue(html.toString().startsWith("<!DOCTYPE html>"));
+        assertTrue(html.toString().contains("Core 1"));
+        assertTrue(html.toString().contains("short segments"));
+        assertTrue(html.toString().length() < 100_000, "chart size " + html.toString().length());
+
+        assertThrows(IllegalArgumentException.class, () -> new GanttChart(new StringWriter(), false, 8, new SummaryListener()));
+    }
+
+    @Test
+    @DisplayName("Test the simulation server answers scenarios as JSON and turns away requests past its limit")
+    void testSimulationServer() throws Exception {
+        byte[] scenario;
+        try (InputStream in = getClass().getClassLoader().getResourceAsStream("test_2.json")) {
+            scenario = in.readAllBytes();
+        }
+        TableInput input = StreamingWorkloadLoader.load(new ByteArrayInputStream(scenario));
+
+        // one simulation at a time, nothing queued
+        SimulationServer server = new SimulationServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1, 0);
+        server.start();
+        String base = "http://" + InetAddress.getLoopbackAddress().getHostAddress() + ":" + server.port();
+        try {
+            for (String name : List.of("SJF", "RR", "Priority", "MLFQ", "CFS")) {
+                SimulationResult expected = BatchRunner.BatchInput.of(input).scheduler(name).simulate(input.processes);
+                HttpURLConnection c = post(base + "/simulate?scheduler=" + name, scenario);
+                assertEquals(200, c.getResponseCode(), name);
+                assertSameJson(expected, mapper.readTree(c.getInputStream()), name);
+            }
+
+            // the query overrides the scenario's settings
+            HttpURLConnection rr5 = post(base + "/simulate?scheduler=RR&rrQuantum=5", scenario);
+            assertEquals(200, rr5.getResponseCode());
+            assertSameJson(new RoundRobinScheduler(5, input.contextSwitch).simulate(input.processes),
+                    mapper.readTree(rr5.getInputStream()), "RR q=5");
+
+            // AG included: its context switch comes from the scenario or the query too
+            byte[] agScenario;
+            try (InputStream in = getClass().getClassLoader().getResourceAsStream("AG_test1.json")) {
+                agScenario = in.readAllBytes();
+            }
+            Workload agWorkload = StreamingWorkloadLoader.load(new ByteArrayInputStream(agScenario)).processes;
+            HttpURLConnection ag2 = post(base + "/simulate?scheduler=AG&contextSwitch=2", agScenario);
+            assertEquals(200, ag2.getResponseCode());
+            SimulationResult expectedAg = new AGScheduler(2).simulate(agWorkload);
+            assertNotEquals(new AGScheduler(0).simulate(agWorkload).averageWaitingTime, expectedAg.averageWaitingTime);
+            assertSameJson(expectedAg, mapper.readTree(ag2.getInputStream()), "AG cs=2");
+
+            assertEquals(400, post(base + "/simulate?scheduler=XX", scenario).getResponseCode());
+            assertEquals(400, post(base + "/simulate?scheduler=RR",
+                    "{\"input\": [".getBytes(StandardCharsets.UTF_8)).getResponseCode());
+            HttpURLConnection get = (HttpURLConnection) new URL(base + "/simulate").openConnection();
+            assertEquals(405, get.getResponseCode());
+
+            // a request still sending its body holds the only slot; the next one is turned away
+            try (Socket slow = new Socket(InetAddress.getLoopbackAddress(), server.port())) {
+                OutputStream out = slow.getOutputStream();
+                out.write(("POST /simulate?scheduler=RR HTTP/1.1\r\nHost: localhost\r\nContent-Length: "
+                        + scenario.length + "\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+                out.write(scenario, 0, 10);
+                out.flush();
+                long deadline = System.nanoTime() + 10_000_000_000L;
+                while (health(base).get("waiting").asInt() + health(base).get("running").asInt() == 0) {
+                    assertTrue(System.nanoTime() < deadline, "request never admitted");
+                    Thread.sleep(10);
+                }
+
+                HttpURLConnection rejected = post(base + "/simulate?scheduler=RR", scenario);
+                assertEquals(503, rejected.getResponseCode());
+                assertEquals("1", rejected.getHeaderField("Retry-After"));
+
+                out.write(scenario, 10, scenario.length - 10);
+                out.flush();
+                BufferedReader reply = new BufferedReader(
+                        new InputStreamReader(slow.getInputStream(), StandardCharsets.UTF_8));
+                assertEquals("HTTP/1.1 200 OK", reply.readLine());
+            }
+            assertEquals(200, post(base + "/simulate?scheduler=RR", scenario).getResponseCode());
+            assertEquals(1, health(base).get("limit").asInt());
+        } finally {
+            server.stop();
+        }
+    }
+
+    private static HttpURLConnection post(String url, byte[] body) throws Exception {
+        HttpURLConnection c = (HttpURLConnection) new URL(url).openConnection();
+        c.setRequestMethod("POST");
+        c.setDoOutput(true);
+        try (OutputStream out = c.getOutputStream()) {
+            out.write(body);
+        }
+        return c;
+    }
+
+    private JsonNode health(String base) throws Exception {
+        try (InputStream in = new URL(base + "/health").openStream()) {
+            return mapper.readTree(in);
+        }
+    }
+
+    private void assertSameJson(SimulationResult expected, JsonNode actual, String label) {
+        assertEquals(expected.executionOrder, mapper.convertValue(actual.get("executionOrder"), List.class), label);
+        assertEquals(expected.averageWaitingTime, actual.get("averageWaitingTime").asDouble(), 1e-9, label);
+        assertEquals(expected.averageTurnaroundTime, actual.get("averageTurnaroundTime").asDouble(), 1e-9, label);
+        assertEquals(expected.contextSwitches, actual.get("contextSwitches").asInt(), label);
+        JsonNode processes = actual.get("processResults");
+        assertEquals(expected.processResults.size(), processes.size(), label);
+        for (int i = 0; i < processes.size(); i++) {
+            ProcessResult p = expected.processResults.get(i);
+            assertEquals(p.name, processes.get(i).get("name").asText(), label);
+            assertEquals(p.waitingTime, processes.get(i).get("waitingTime").asInt(), label);
+            assertEquals(p.turnaroundTime, processes.get(i).get("turnaroundTime").asInt(), label);
+        }
+    }
+
+    // a result that dies (like the JVM would) after a number of dispatches
+    private static class CrashingResult extends MultiCoreResult {
+        private int dispatchesLeft;
+
+        CrashingResult(Workload workload, int cores, int dispatchesLeft) {
+            super(workload::name, cores);
+            this.dispatchesLeft = dispatchesLeft;
+        }
+
+        @Override
+        public void onDispatch(int core, int id, int time) {
+            if (--dispatchesLeft == 0) throw new IllegalStateException("crash");
+            super.onDispatch(core, id, time);
+        }
+    }
+
+    @Test
+    @DisplayName("Test a run resumed from its checkpoint after crashes ends with identical results")
+    void testCheckpointResume() throws Exception {
+        WorkloadGenerator generator = new WorkloadGenerator();
+        generator.count = 400;
+        generator.arrivalRate = 0.3;
+        Workload workload = generator.workload();
+
+        Path dir = Files.createTempDirectory("checkpoints");
+        try {
+            for (String policy : new String[]{"RR", "SJF", "Priority"}) {
+                for (int cores : new int[]{1, 3}) {
+                    MultiCoreScheduler scheduler = new MultiCoreScheduler(policy, cores, 1, 4, 5);
+                    scheduler.balancing = cores == 1 ? "none" : "steal";
+                    scheduler.migrationCost = 1;
+                    String label = policy + " on " + cores + " cores";
+                    MultiCoreResult expected = scheduler.simulate(workload);
+
+                    Checkpoint checkpoint = new Checkpoint(dir.resolve(policy + cores)).every("50");
+                    MultiCoreResult resumed = null;
+                    int crashes = 0;
+                    while (resumed == null) {
+                        CrashingResult attempt = new CrashingResult(workload, cores, 150);
+                        attempt.inputOrder = expected.inputOrder;
+                        try {
+                            scheduler.run(workload, attempt, checkpoint);
+                            resumed = attempt;
+                        } catch (IllegalStateException e) {
+                            crashes++;
+                            assertTrue(checkpoint.exists(), label + ": nothing saved before the crash");
+                        }
+                    }
+                    assertTrue(crashes > 1, label);
+
+                    assertSameResults(expected, resumed, label);
+                    for (int c = 0; c < cores; c++)
+                        assertEquals(expected.coreTimelines[c].executionOrder(), resumed.coreTimelines[c].executionOrder(), label);
+                    assertEquals(expected.latency.toCsv(), resumed.latency.toCsv(), label);
+                    assertEquals(expected.migrations, resumed.migrations, label);
+                    assertArrayEquals(expected.utilization, resumed.utilization, label);
+
+                    // the final snapshot resumes straight to the end
+                    assertSameResults(expected, scheduler.simulate(workload, checkpoint), label + " (finished)");
+
+                    MultiCoreScheduler other = new MultiCoreScheduler(policy, cores, 2, 4, 5);
+                    assertThrows(IllegalArgumentException.class, () -> other.simulate(workload, checkpoint));
+                }
+            }
+
+            // a snapshot only resumes the run it was taken from: same names, quanta and settings
+            Checkpoint checkpoint = new Checkpoint(dir.resolve("Priority3"));
+            Workload renamed = new Workload() {
+                public int size() { return workload.size(); }
+                public String name(int id) { return "Q" + (id + 1); }
+                public int arrival(int id) { return workload.arrival(id); }
+                public int burst(int id) { return workload.burst(id); }
+                public int priority(int id) { return workload.priority(id); }
+                public int quantum(int id) { return workload.quantum(id); }
+            };
+            for (Workload changed : List.of(renamed, ParameterSweep.withQuantum(workload, 9))) {
+                MultiCoreScheduler scheduler = new MultiCoreScheduler("Priority", 3, 1, 4, 5);
+                scheduler.balancing = "steal";
+                scheduler.migrationCost = 1;
+                IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                        () -> scheduler.simulate(changed, checkpoint));
+                assertEquals("Checkpoint was taken on a different workload", e.getMessage());
+            }
+            for (int setting = 0; setting < 6; setting++) {
+                MultiCoreScheduler scheduler = new MultiCoreScheduler("Priority", 3, 1,
+                        setting == 0 ? 3 : 4, setting == 1 ? 6 : 5);
+                scheduler.balancing = setting == 2 ? "push" : "steal";
+                scheduler.migrationCost = setting == 3 ? 2 : 1;
+                scheduler.balanceInterval = setting == 4 ? 20 : 10;
+                scheduler.seed = setting == 5 ? 2 : 1;
+                IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                        () -> scheduler.simulate(workload, checkpoint));
+                assertTrue(e.getMessage().startsWith("Checkpoint is for "), e.getMessage());
+            }
+            assertThrows(IllegalArgumentException.class, () -> new MultiCoreScheduler("RR", 1, 1, 4, 5)
+                    .run(workload, new EventLogListener(new StringWriter()), new Checkpoint(dir.resolve("log"))));
+        } finally {
+            try (var files = Files.list(dir)) {
+                for (Path f : (Iterable<Path>) files::iterator)
+                    Files.delete(f);
+            }
+            Files.delete(dir);
+        }
+    }
+
+    @Test
+    @DisplayName("Test the batch runner prints every block in file-then-scheduler order on a parallel pool")
+    void testBatchRunner() throws Exception {
+        Path root = Files.createTempDirectory("batch");
+        Path nonAg = Files.createDirectory(root.resolve("non-ag"));
+        Path ag = Files.createDirectory(root.resolve("ag"));
+        String[] nonAgFiles = {"IO_test1.json", "test_1.json", "test_2.json", "test_3.json", "test_4.json"};
+        String[] agFiles = {"AG_test1.json", "AG_test2.json", "AG_test3.json"};
+        for (String name : nonAgFiles)
+            try (InputStream in = getClass().getClassLoader().getResourceAsStream(name)) {
+                Files.copy(in, nonAg.resolve(name));
+            }
+        for (String name : agFiles)
+            try (InputStream in = getClass().getClassLoader().getResourceAsStream(name)) {
+                Files.copy(in, ag.resolve(name));
+            }
+
+        String[] titles = {"SJF", "RR", "Priority", "MLFQ", "CFS"};
+        List<String> expected = new ArrayList<>();
+        for (String name : nonAgFiles) {
+            expected.add("=== " + name + " ===");
+            for (String title : titles)
+                expected.add("--- " + title + " ---");
+        }
+        for (String name : agFiles) {
+            expected.add("=== " + name + " ===");
+            expected.add("--- AG ---");
+        }
+        for (String title : titles)
+            expected.add("--- " + title + " (all files) ---");
+        expected.add("--- AG (all files) ---");
+
+        ByteArrayOutputStream captured = new ByteArrayOutputStream();
+        PrintStream out = System.out;
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            System.setOut(new PrintStream(captured, true, StandardCharsets.UTF_8));
+            new BatchRunner(pool).run(nonAg.toFile(), ag.toFile());
+        } finally {
+            System.setOut(out);
+            pool.shutdown();
+            try (var files = Files.walk(root)) {
+                for (Path f : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator)
+                    Files.delete(f);
+            }
+        }
+
+        List<String> lines = captured.toString(StandardCharsets.UTF_8).lines()
+                .filter(line -> !line.isEmpty()).collect(Collectors.toList());
+        assertEquals(expected, lines.stream()
+                .filter(line -> line.startsWith("=== ") || line.startsWith("--- ")).collect(Collectors.toList()));
+        // MLFQ and CFS cannot model the I/O file, and say so in place
+        assertEquals(2, lines.stream().filter(line -> line.startsWith("Skipped: ")).count());
+        String last = lines.get(lines.size() - 1);
+        assertTrue(last.startsWith("Total wall-clock time = ") && last.endsWith(" ms (28 jobs)"), last);
+    }
+
+    @ParameterizedTest(name = "Loading Mode Test Case {0}")
+    @ValueSource(ints = {1, 2, 3, 4, 5, 6})
+    @DisplayName("Test --stream and .trace input print the same results as JSON input")
+    void testLoadingModes(int testNumber) throws Exception {
+        String name = "test_" + testNumber;
+        TestCase tc = mapper.readValue(getClass().getClassLoader().getResourceAsStream(name + ".json"), TestCase.class);
+        TableInput input = StreamingWorkloadLoader.load(getClass().getClassLoader().getResourceAsStream(name + ".json"));
+
+        // the engines Simulator runs on JSON input
+        ProcessTable table = new ProcessTable(tc.input.processes.size());
+        for (ProcessJSON p : tc.input.processes)
+            p.addTo(table);
+        Map<String, String> expected = blocks(printed(() -> {
+            Simulator.printResult("SJF", new SJFScheduler(tc.input.contextSwitch).simulate(table));
+            Simulator.printResult("RR", new RoundRobinScheduler(tc.input.rrQuantum, tc.input.contextSwitch).simulate(table));
+            Simulator.printResult("Priority", new PriorityScheduler(tc.input.contextSwitch, tc.input.agingInterval).simulate(table));
+        }));
+
+        Map<String, String> streamed = blocks(printed(() -> Simulator.runStandard(input.processes,
+                input.contextSwitch, input.rrQuantum, input.agingInterval, input.mlfqQuanta,
+                input.mlfqBoostInterval, input.cfsTargetLatency, input.cfsMinGranularity)));
+        Path file = Files.createTempFile(name, ".trace");
+        Map<String, String> mapped;
+        try {
+            TraceWriter.write(file, input);
+            MappedTrace trace = MappedTrace.open(file);
+            mapped = blocks(printed(() -> Simulator.runStandard(trace,
+                    trace.contextSwitch, trace.rrQuantum, trace.agingInterval, null, -1, -1, -1)));
+        } finally {
+            Files.delete(file);
+        }
+
+        for (String title : expected.keySet()) {
+            assertEquals(expected.get(title), streamed.get(title), name + " --stream " + title);
+            assertEquals(expected.get(title), mapped.get(title), name + ".trace " + title);
+        }
+    }
+
+    // what body prints to System.out
+    private static String printed(Runnable body) {
+        ByteArrayOutputStream captured = new ByteArrayOutputStream();
+        PrintStream out = System.out;
+        try {
+            System.setOut(new PrintStream(captured, true, StandardCharsets.UTF_8));
+            body.run();
+        } finally {
+            System.setOut(out);
+        }
+        return captured.toString(StandardCharsets.UTF_8);
+    }
+
+    // printResult blocks by title
+    private static Map<String, String> blocks(String output) {
+        Map<String, String> blocks = new LinkedHashMap<>();
+        String title = null;
+        StringBuilder body = new StringBuilder();
+        for (String line : output.lines().collect(Collectors.toList())) {
+            if (line.startsWith("--- ") && line.endsWith(" ---")) {
+                if (title != null) blocks.put(title, body.toString());
+                title = line.substring(4, line.length() - 4);
+                body.setLength(0);
+            } else if (title != null && !line.isEmpty()) {
+                body.append(line).append('\n');
+            }
+        }
+        if (title != null) blocks.put(title, body.toString());
+        return blocks;
+    }
+
+    @Test
+    @DisplayName("Test the batch runner gives the sequential run's results")
+    void testBatchMatchesSequential() throws Exception {
+        Path root = Files.createTempDirectory("batch");
+        Path nonAg = Files.createDirectory(root.resolve("non-ag"));
+        Path ag = Files.createDirectory(root.resolve("ag"));
+        for (int i = 1; i <= 6; i++)
+            try (InputStream in = getClass().getClassLoader().getResourceAsStream("test_" + i + ".json")) {
+                Files.copy(in, nonAg.resolve("test_" + i + ".json"));
+            }
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (BatchRunner.Job job : new BatchRunner(pool).submit(nonAg.toFile(), ag.toFile())) {
+                // the engines the sequential (default) run uses
+                TestCase tc = mapper.readValue(job.file, TestCase.class);
+                ProcessTable table = new ProcessTable(tc.input.processes.size());
+                for (ProcessJSON p : tc.input.processes)
+                    p.addTo(table);
+                Scheduler sequential;
+                switch (job.title) {
+                    case "SJF": sequential = new SJFScheduler(tc.input.contextSwitch); break;
+                    case "RR": sequential = new RoundRobinScheduler(tc.input.rrQuantum, tc.input.contextSwitch); break;
+                    case "Priority": sequential = new PriorityScheduler(tc.input.contextSwitch, tc.input.agingInterval); break;
+                    default: continue;
+                }
+                assertSameResults(sequential.simulate(table), job.result.join(), job.file.getName() + " " + job.title);
+            }
+        } finally {
+            pool.shutdown();
+            try (var files = Files.walk(root)) {
+                for (Path f : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator)
+                    Files.delete(f);
+            }
+        }
+
+        // and on small random workloads, where every aging corner shows up
+        for (int seed = 0; seed < 1000; seed++) {
+            Random random = new Random(seed);
+            ProcessTable w = randomTable(random);
+            BatchRunner.BatchInput in = new BatchRunner.BatchInput(w, random.nextInt(3), 2, 1 + random.nextInt(6));
+            assertSameResults(new PriorityScheduler(in.contextSwitch, in.agingInterval).simulate(w),
+                    in.scheduler("Priority").simulate(w), "Batch Priority, seed " + seed);
+        }
+    }
+
+    @Test
+    @DisplayName("Test the batch runner only skips refused schedulers and reports every other failure")
+    void testBatchRunnerFailure() throws Exception {
+        Path root = Files.createTempDirectory("batch");
+        Path nonAg = Files.createDirectory(root.resolve("non-ag"));
+        Path ag = Files.createDirectory(root.resolve("ag"));
+        // a broken MLFQ setting is a bug in the scenario, not a workload MLFQ declines
+        Files.writeString(nonAg.resolve("bad_mlfq.json"), "{\"input\": {\"contextSwitch\": 1, \"rrQuantum\": 2,"
+                + " \"agingInterval\": 5, \"mlfqQuanta\": [0, 4], \"processes\": ["
+                + "{\"name\": \"P1\", \"arrival\": 0, \"burst\": 3, \"priority\": 1}]}}");
+
+        PrintStream out = System.out;
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            List<BatchRunner.Job> jobs = new BatchRunner(pool).submit(nonAg.toFile(), ag.toFile());
+            for (BatchRunner.Job job : jobs)
+                assertNull(job.input.join().refusal(job.title), job.title);
+
+            System.setOut(new PrintStream(new ByteArrayOutputStream(), true, StandardCharsets.UTF_8));
+            CompletionException e = assertThrows(CompletionException.class,
+                    () -> new BatchRunner(pool).run(nonAg.toFile(), ag.toFile()));
+            assertInstanceOf(IllegalArgumentException.class, e.getCause());
+            assertTrue(e.getCause().getMessage().startsWith("MLFQ quanta"), e.getCause().getMessage());
+        } finally {
+            System.setOut(out);
+            pool.shutdown();
+            try (var files = Files.walk(root)) {
+                for (Path f : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator)
+                    Files.delete(f);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Test batch runs answered from the result cache match fresh runs, and the cache stays bounded")
+    void testResultCache() throws Exception {
+        Path root = Files.createTempDirectory("cache");
+        Path nonAg = Files.createDirectory(root.resolve("non-ag"));
+        Path ag = Files.createDirectory(root.resolve("ag"));
+        for (String name : new String[]{"test_1.json", "test_2.json", "IO_test1.json"})
+            try (InputStream in = getClass().getClassLoader().getResourceAsStream(name)) {
+                Files.copy(in, nonAg.resolve(name));
+            }
+        try (InputStream in = getClass().getClassLoader().getResourceAsStream("AG_test1.json")) {
+            Files.copy(in, ag.resolve("AG_test1.json"));
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            List<BatchRunner.Job> fresh = new BatchRunner(pool).submit(nonAg.toFile(), ag.toFile());
+            // MLFQ and CFS refuse the file with I/O before reaching the cache
+            int refused = 0;
+            for (BatchRunner.Job job : fresh) {
+                if (!job.file.getName().equals("IO_test1.json")) continue;
+                if (job.title.equals("MLFQ") || job.title.equals("CFS")) {
+                    CompletionException e = assertThrows(CompletionException.class, job.result::join);
+                    assertInstanceOf(IllegalArgumentException.class, e.getCause(), job.title);
+                    refused++;
+                } else {
+                    assertInstanceOf(IOResult.class, job.result.join(), job.title);
+                }
+            }
+            assertEquals(2, refused);
+
+            ResultCache cache = new ResultCache(root.resolve("results"), 1 << 20);
+            List<BatchRunner.Job> first = new BatchRunner(pool, cache).submit(nonAg.toFile(), ag.toFile());
+            first.forEach(job -> job.result.exceptionally(e -> null).join());
+            assertEquals(0, cache.hits());
+            assertEquals(fresh.size() - refused, cache.misses());
+
+            List<BatchRunner.Job> second = new BatchRunner(pool, cache).submit(nonAg.toFile(), ag.toFile());
+            for (int i = 0; i < fresh.size(); i++) {
+                if (fresh.get(i).result.isCompletedExceptionally()) continue;
+                SimulationResult expected = fresh.get(i).result.join();
+                SimulationResult cached = second.get(i).result.join();
+                String label = fresh.get(i).file.getName() + " " + fresh.get(i).title;
+                assertSameResults(expected, cached, label);
+                assertEquals(expected.contextSwitches, cached.contextSwitches, label);
+                assertEquals(expected.quantumHistory, cached.quantumHistory, label);
+                assertEquals(expected.latency.toCsv(), cached.latency.toCsv(), label);
+                // an entry comes back as the type it was saved as
+                assertEquals(expected.getClass(), cached.getClass(), label);
+                if (expected instanceof IOResult) {
+                    IOResult io = (IOResult) expected, back = (IOResult) cached;
+                    assertEquals(io.cpuUtilization, back.cpuUtilization, 1e-9, label);
+                    assertArrayEquals(io.deviceUtilization, back.deviceUtilization, 1e-9, label);
+                    assertEquals(io.throughput, back.throughput, 1e-9, label);
+                }
+            }
+            assertEquals(fresh.size() - refused, cache.hits());
+
+            // a directory already over its budget is trimmed to it, oldest first
+            ResultCache small = new ResultCache(root.resolve("results"), 1);
+            try (var files = Files.list(small.dir)) {
+                assertEquals(0, files.count());
+            }
+
+            Workload w = StreamingWorkloadLoader.load(nonAg.resolve("test_1.json").toFile()).processes;
+            String key = ResultCache.key(RoundRobinScheduler.class, "rrQuantum=2 contextSwitch=1", w);
+            assertEquals(key, ResultCache.key(RoundRobinScheduler.class, "rrQuantum=2 contextSwitch=1", w));
+            assertNotEquals(key, ResultCache.key(RoundRobinScheduler.class, "rrQuantum=3 contextSwitch=1", w));
+            assertNotEquals(key, ResultCache.key(EventSJFScheduler.class, "rrQuantum=2 contextSwitch=1", w));
+            assertNotEquals(key, ResultCache.key(RoundRobinScheduler.class, "rrQuantum=2 contextSwitch=1",
+                    ParameterSweep.withQuantum(w, 99)));
+
+            // AG runs, and is keyed on, the scenario's context switch
+            BatchRunner.BatchInput ag0 = new BatchRunner.BatchInput(w, 0, 2, 5);
+            BatchRunner.BatchInput ag2 = new BatchRunner.BatchInput(w, 2, 2, 5);
+            assertEquals(2, ((EventAGScheduler) ag2.scheduler("AG")).contextSwitch);
+            assertNotEquals(ag0.settings("AG"), ag2.settings("AG"));
+
+            // the same CPU totals, split into different CPU and I/O phases
+            ProcessTable a = new ProcessTable(1), b = new ProcessTable(1), c = new ProcessTable(1);
+            a.add("P1", 0, new int[]{2, 3, 2}, new String[]{"disk"}, 1, 0);
+            b.add("P1", 0, new int[]{2, 4, 2}, new String[]{"disk"}, 1, 0);
+            c.add("P1", 0, new int[]{1, 3, 3}, new String[]{"disk"}, 1, 0);
+            String io = ResultCache.key(IOScheduler.class, "policy=RR", a);
+            assertNotEquals(io, ResultCache.key(IOScheduler.class, "policy=RR", b));
+            assertNotEquals(io, ResultCache.key(IOScheduler.class, "policy=RR", c));
+        } finally {
+            pool.shutdown();
+            try (var files = Files.walk(root)) {
+                for (Path f : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator)
+                    Files.delete(f);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Test parameter sweep runs every configuration against the shared workload")
+    void testParameterSweep() throws Exception {
+        TableInput input = StreamingWorkloadLoader.load(
+                getClass().getClassLoader().getResourceAsStream("test_1.json"));
+
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            ParameterSweep sweep = new ParameterSweep(pool);
+            sweep.contextSwitch = new int[]{0, 1};
+            sweep.rrQuantum = ParameterSweep.parseRange("2:6:2");
+            sweep.agingInterval = new int[]{3};
+            sweep.agQuantum = new int[]{4};
+
+            List<ParameterSweep.Run> runs = sweep.submit(input.processes);
+            // SJF 2 + RR 3x2 + Priority 2x1 + AG 1x2
+            assertEquals(12, runs.size());
+
+            for (ParameterSweep.Run run : runs) {
+                SimulationResult expected;
+                switch (run.scheduler) {
+                    case "SJF":
+                        expected = new SJFScheduler(run.contextSwitch).simulate(input.processes);
+                        break;
+                    case "RR":
+                        expected = new RoundRobinScheduler(run.rrQuantum, run.contextSwitch).simulate(input.processes);
+                        break;
+                    case "Priority":
+                        expected = new PriorityScheduler(run.contextSwitch, run.agingInterval)
+                                .simulate(input.processes);
+                        break;
+                    default:
+                        expected = new AGScheduler(run.contextSwitch)
+                                .simulate(ParameterSweep.withQuantum(input.processes, run.agQuantum));
+                }
+                ParameterSweep.Totals actual = run.result.join();
+                assertEquals(expected.averageWaitingTime, actual.summary.averageWaitingTime(), 1e-9, run.toCsv());
+                assertEquals(expected.averageTurnaroundTime, actual.summary.averageTurnaroundTime(), 1e-9, run.toCsv());
+                assertEquals(expected.contextSwitches, actual.summary.contextSwitches, run.toCsv());
+                assertEquals(expected.latency.toCsv(), actual.latency.toCsv(), run.toCsv());
+            }
+
+            // checkpointed runs give the same rows, from snapshots that do not grow with the run
+            sweep.agQuantum = new int[0];
+            sweep.rrQuantum = new int[]{2};
+            sweep.contextSwitch = new int[]{1};
+            long[] largest = new long[2];
+            for (int size = 0; size < 2; size++) {
+                int n = size == 0 ? 300 : 1200;
+                ProcessTable big = new ProcessTable(n);
+                for (int i = 0; i < n; i++)
+                    big.add("P" + i, i * 3, 1 + i * 7 % 11, 1 + i % 9, 1);
+                StringWriter plain = new StringWriter();
+                sweep.write(sweep.submit(big), new PrintWriter(plain));
+
+                Path dir = Files.createTempDirectory("sweep");
+                try {
+                    sweep.checkpoints = dir;
+                    sweep.checkpointEvery = "100";
+                    StringWriter resumable = new StringWriter();
+                    sweep.write(sweep.submit(big), new PrintWriter(resumable));
+                    assertEquals(plain.toString(), resumable.toString(), n + " processes");
+                    try (var files = Files.list(dir)) {
+                        for (Path f : (Iterable<Path>) files::iterator)
+                            largest[size] = Math.max(largest[size], Files.size(f));
+                    }
+                } finally {
+                    sweep.checkpoints = null;
+                    try (var files = Files.list(dir)) {
+                        for (Path f : (Iterable<Path>) files::iterator)
+                            Files.delete(f);
+                    }
+                    Files.delete(dir);
+                }
+            }
+            // fixed-size histograms: four times the processes, nowhere near four times the bytes
+            assertTrue(largest[1] < 2 * largest[0], largest[0] + " bytes for 300, " + largest[1] + " for 1200");
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Test generated workloads are reproducible and identical in every output form")
+    void testWorkloadGenerator() throws Exception {
+        WorkloadGenerator generator = new WorkloadGenerator();
+        generator.seed = 7;
+        generator.count = 500;
+        generator.burstDistribution = "lognormal";
+        generator.burstShape = 1;
+        generator.burstScale = 5;
+        generator.priorities = new int[]{1, 5, 10};
+        generator.priorityWeights = new double[]{3, 1, 1};
+
+        Workload workload = generator.workload();
+        WorkloadGenerator.Cursor cursor = generator.cursor();
+        int previousArrival = 0;
+        while (cursor.next()) {
+            assertEquals(workload.name(cursor.id), cursor.name());
+            assertEquals(workload.arrival(cursor.id), cursor.arrival);
+            assertEquals(workload.burst(cursor.id), cursor.burst);
+            assertEquals(workload.priority(cursor.id), cursor.priority);
+            assertEquals(workload.quantum(cursor.id), cursor.quantum);
+            assertTrue(cursor.arrival >= previousArrival, "arrivals must not decrease");
+            assertTrue(cursor.burst >= 1 && cursor.burst <= generator.maxBurst);
+            assertTrue(cursor.quantum >= generator.minQuantum && cursor.quantum <= generator.maxQuantum);
+            previousArrival = cursor.arrival;
+        }
+        assertEquals(generator.count - 1, cursor.id);
+
+        ByteArrayOutputStream json = new ByteArrayOutputStream();
+        generator.writeJson(json, true);
+        TableInput loaded = StreamingWorkloadLoader.load(new ByteArrayInputStream(json.toByteArray()));
+        assertEquals(generator.contextSwitch, loaded.contextSwitch);
+        assertSameResults(new EventAGScheduler(generator.contextSwitch).simulate(workload),
+                new EventAGScheduler(loaded.contextSwitch).simulate(loaded.processes), "Generated AG JSON");
+
+        generator.writeJson(json = new ByteArrayOutputStream(), false);
+        loaded = StreamingWorkloadLoader.load(new ByteArrayInputStream(json.toByteArray()));
+        assertEquals(generator.agingInterval, loaded.agingInterval);
+        assertSameResults(new SJFScheduler(loaded.contextSwitch).simulate(loaded.processes),
+                new EventSJFScheduler(generator.contextSwitch).simulate(workload), "Generated SJF");
+
+        // same seed, same processes
+        Iterator<Process> again = generator.processes();
+        for (int i = 0; i < generator.count; i++) {
+            Process p = again.next();
+            assertEquals(workload.arrival(i), p.arrivalTime);
+            assertEquals(workload.burst(i), p.burstTime);
+        }
+        assertFalse(again.hasNext());
+    }
+
     // =====================================================
     // INDIVIDUAL TEST METHODS (for specific test cases)
     // =====================================================
@@ -324,6 +1917,24 @@ class SimulatorTest {
                 .findFirst()
                 .orElse(null);
     }
+
+    private void assertSameResults(SimulationResult expected, SimulationResult actual, String label) {
+        assertEquals(expected.executionOrder, actual.executionOrder, label + ": Execution order mismatch");
+        assertEquals(expected.processResults.size(), actual.processResults.size(),
+                label + ": Process result count mismatch");
+        for (int i = 0; i < expected.processResults.size(); i++) {
+            ProcessResult e = expected.processResults.get(i);
+            ProcessResult a = actual.processResults.get(i);
+            assertEquals(e.name, a.name, label + ": Completion order mismatch");
+            assertEquals(e.waitingTime, a.waitingTime, label + ": Waiting time mismatch for " + e.name);
+            assertEquals(e.turnaroundTime, a.turnaroundTime, label + ": Turnaround time mismatch for " + e.name);
+        }
+        assertEquals(expected.averageWaitingTime, actual.averageWaitingTime, 0.001,
+                label + ": Average waiting time mismatch");
+        assertEquals(expected.averageTurnaroundTime, actual.averageTurnaroundTime, 0.001,
+                label + ": Average turnaround time mismatch");
+        assertEquals(expected.quantumHistory, actual.quantumHistory, label + ": Quantum history mismatch");
+    }
 }
 
 // =====================================================